@@ -0,0 +1,72 @@
+package eu.buildquote.security;
+
+import eu.buildquote.config.JwtConfig;
+import eu.buildquote.entity.User;
+import eu.buildquote.repository.RevokedTokenRepository;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link JwtAuthenticationFilter} for a valid bearer token, with the verified-token cache
+ * enabled ({@code cached = true}, every request after the first is a hit) and disabled (every request verifies
+ * the signature). Both include the revocation check. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtConfig config = new JwtConfig();
+        config.setSecret("benchmark-secret-key-that-is-long-enough-for-hs256");
+        config.setExpiration(TimeUnit.HOURS.toMillis(1));
+        config.setVerifiedCacheSize(cached ? 10_000 : 0);
+
+        TokenRevocationList revocationList = new TokenRevocationList(emptyRevocations(), null, config);
+        revocationList.init();
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(config, new VerifiedTokenCache(config), revocationList);
+        tokenProvider.init();
+        filter = new JwtAuthenticationFilter(tokenProvider);
+
+        String token = tokenProvider.generateToken(AuthenticatedUser.of(
+                User.builder().id(42L).email("bench@example.com").companyName("Benchmark OÜ").build()));
+        request = new MockHttpServletRequest("GET", "/api/v1/projects");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object authenticate() throws Exception {
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+
+    /** No revocations, so every check is a filter miss as it is for nearly all requests. */
+    private static RevokedTokenRepository emptyRevocations() {
+        return (RevokedTokenRepository) Proxy.newProxyInstance(RevokedTokenRepository.class.getClassLoader(),
+                new Class<?>[]{RevokedTokenRepository.class},
+                (proxy, method, args) -> method.getReturnType() == int.class ? 0 : List.of());
+    }
+}
@@ -0,0 +1,55 @@
+package eu.buildquote.service.boq;
+
+import eu.buildquote.dto.boq.ColumnMappingDto;
+import eu.buildquote.dto.boq.ParsedBoqItemDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning one row into a {@link ParsedBoqItemDto}: {@link BoqRowMapper} with {@link QuantityLexer}
+ * against the per-row {@code HashMap} and regex quantity cleanup the parser used before. The rows cycle
+ * through the quantity spellings of Estonian exports. Add {@code -prof gc} for the bytes allocated per row.
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoqRowMapperBenchmark {
+
+    private static final List<List<String>> ROWS = List.of(
+            List.of("1.1", "Monoliitbetoon C30/37 vundamendid", "12,5", "m3", "betoon", ""),
+            List.of("1.2", "Armatuur B500B", "1 234,75", "kg", "teras", "EVS-EN 10080"),
+            List.of("1.3", "Raketis seinad", "86.40 m2", "m2", "", ""),
+            List.of("1.4", "Hüdroisolatsioon", "1 250", "m2", "bituumen", ""),
+            List.of("1.5", "Kaevetööd", "-3", "m3", "", "Tagasitäide"));
+
+    private final BoqRowMapper mapper = BoqRowMapper.of(SyntheticBoq.MAPPINGS);
+    private int next;
+
+    @Benchmark
+    public ParsedBoqItemDto rowMapper() {
+        return mapper.map(next + 2, row());
+    }
+
+    @Benchmark
+    public ParsedBoqItemDto baseline() {
+        List<String> cells = row();
+        Map<String, String> values = new HashMap<>();
+        for (ColumnMappingDto mapping : SyntheticBoq.MAPPINGS) {
+            values.put(mapping.getTargetField(), cells.get(mapping.getColumnIndex()));
+        }
+        return SyntheticBoq.baselineItem(next + 2, values);
+    }
+
+    private List<String> row() {
+        next = next == ROWS.size() - 1 ? 0 : next + 1;
+        return ROWS.get(next);
+    }
+}
@@ -0,0 +1,80 @@
+package eu.buildquote.service.boq;
+
+import eu.buildquote.config.BoqConfig;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second parsing a synthetic 200 000-row CSV (about 16 MB, every fifth description quoted over two
+ * lines) into BoQ items. {@code reader = commons-csv} is the single-threaded parser used before;
+ * {@code 1}, {@code 4} and {@code 8} are {@link CsvRowReader} with that {@code boq.parse-parallelism}, to show
+ * how chunked parsing scales with cores. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class CsvRowReaderBenchmark {
+
+    private static final int ROWS = 200_000;
+
+    @Param({"commons-csv", "1", "4", "8"})
+    public String reader;
+
+    private Path file;
+    private CsvRowReader csvRowReader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = SyntheticBoq.csv(ROWS);
+        if (!reader.equals("commons-csv")) {
+            BoqConfig config = new BoqConfig();
+            config.setParseParallelism(Integer.parseInt(reader));
+            csvRowReader = new CsvRowReader(config);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (csvRowReader != null) csvRowReader.shutdown();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int parse() throws IOException {
+        return csvRowReader == null ? commonsCsv() : SyntheticBoq.readStreaming(
+                (path, handlers) -> csvRowReader.read(path, handlers.forSheet(0, null)), file);
+    }
+
+    /** The parsing {@code BoqParserService} did before {@link CsvRowReader}. */
+    private int commonsCsv() throws IOException {
+        BoqRowMapper mapper = BoqRowMapper.of(SyntheticBoq.MAPPINGS);
+        int items = 0;
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             CSVParser parser = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).setTrim(true).build()
+                     .parse(in)) {
+            int rowNumber = 1;
+            for (CSVRecord record : parser) {
+                rowNumber++;
+                List<String> cells = new ArrayList<>(record.size());
+                record.forEach(cells::add);
+                if (mapper.map(rowNumber, cells) != null) items++;
+            }
+        }
+        return items;
+    }
+}
@@ -0,0 +1,227 @@
+package eu.buildquote.service.boq;
+
+import eu.buildquote.dto.boq.ColumnMappingDto;
+import eu.buildquote.dto.boq.ParsedBoqItemDto;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synthetic tender BoQs for the reader benchmarks, and the usermodel (DOM) parsing {@code BoqParserService}
+ * did before the streaming readers, as the baseline they are measured against.
+ */
+final class SyntheticBoq {
+
+    static final List<String> HEADERS = List.of("Nr", "Kirjeldus", "Kogus", "Ühik", "Materjal", "Märkused");
+
+    static final List<ColumnMappingDto> MAPPINGS = List.of(
+            mapping("item_number", 0),
+            mapping("description", 1),
+            mapping("quantity", 2),
+            mapping("unit", 3),
+            mapping("material_type", 4),
+            mapping("specification", 5));
+
+    private SyntheticBoq() {
+    }
+
+    static Path xlsx(int rows) throws IOException {
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100)) {
+            Path file = write(workbook, rows, ".xlsx");
+            workbook.dispose();
+            return file;
+        }
+    }
+
+    static Path xls(int rows) throws IOException {
+        try (HSSFWorkbook workbook = new HSSFWorkbook()) {
+            return write(workbook, rows, ".xls");
+        }
+    }
+
+    /** A CSV export where every fifth record has a quoted multi-line description. */
+    static Path csv(int rows) throws IOException {
+        StringBuilder content = new StringBuilder(String.join(",", HEADERS)).append('\n');
+        for (int i = 1; i <= rows; i++) {
+            content.append("1.").append(i).append(',');
+            if (i % 5 == 0) {
+                content.append("\"Monoliitbetoon C30/37, \"\"vundamendid\"\"\nrida ").append(i).append('"');
+            } else {
+                content.append("Monoliitbetoon C30/37 vundamendid rida ").append(i);
+            }
+            content.append(",\"").append(i / 4).append(',').append(i % 4 * 25).append("\",m3,betoon,Lisainfo tekst ")
+                    .append(i).append('\n');
+        }
+        Path file = Files.createTempFile("boq-benchmark-", ".csv");
+        file.toFile().deleteOnExit();
+        return Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+
+    private static Path write(Workbook workbook, int rows, String suffix) throws IOException {
+        Sheet sheet = workbook.createSheet("Ehitus");
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < HEADERS.size(); i++) {
+            header.createCell(i).setCellValue(HEADERS.get(i));
+        }
+        for (int i = 1; i <= rows; i++) {
+            Row row = sheet.createRow(i);
+            row.createCell(0).setCellValue("1." + i);
+            row.createCell(1).setCellValue("Monoliitbetoon C30/37 vundamendid rida " + i);
+            row.createCell(2).setCellValue(i * 1.25);
+            row.createCell(3).setCellValue("m3");
+            row.createCell(4).setCellValue("betoon");
+            row.createCell(5).setCellValue("Lisainfo tekst " + i);
+        }
+
+        Path file = Files.createTempFile("boq-benchmark-", suffix);
+        file.toFile().deleteOnExit();
+        try (OutputStream out = Files.newOutputStream(file)) {
+            workbook.write(out);
+        }
+        return file;
+    }
+
+    /** Reads the first sheet with a row reader and maps every row, as {@code BoqParserService} does now. */
+    static int readStreaming(WorkbookReader reader, Path file) throws IOException {
+        BoqRowMapper mapper = BoqRowMapper.of(MAPPINGS);
+        int[] items = {0};
+        reader.read(file, (sheetIndex, sheetName) -> new BoqRowHandler() {
+            @Override
+            public void header(List<String> headers) {
+            }
+
+            @Override
+            public boolean row(int rowNumber, List<String> cells) {
+                if (mapper.map(rowNumber, cells) != null) items[0]++;
+                return true;
+            }
+        });
+        return items[0];
+    }
+
+    /** Reads the first sheet through the usermodel and maps every row, as {@code BoqParserService} did. */
+    static int readUsermodel(Path file) throws IOException {
+        int items = 0;
+        try (InputStream in = Files.newInputStream(file); Workbook workbook = WorkbookFactory.create(in)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
+                Row row = sheet.getRow(i);
+                if (row == null) continue;
+                Map<String, String> values = new HashMap<>();
+                for (ColumnMappingDto mapping : MAPPINGS) {
+                    values.put(mapping.getTargetField(), cellValue(row.getCell(mapping.getColumnIndex())));
+                }
+                if (baselineItem(i + 1, values) != null) items++;
+            }
+        }
+        return items;
+    }
+
+    /** {@code BoqParserService.createParsedItem} before the row mapper and quantity lexer. */
+    static ParsedBoqItemDto baselineItem(int rowNum, Map<String, String> values) {
+        String quantityStr = values.getOrDefault("quantity", "0");
+        BigDecimal quantity;
+        boolean hasError = false;
+        String errorMsg = null;
+
+        try {
+            String cleanedQty = quantityStr.replace(",", ".").replaceAll("[^\\d.\\-]", "").trim();
+            if (cleanedQty.isEmpty()) {
+                cleanedQty = "0";
+            }
+            quantity = new BigDecimal(cleanedQty);
+        } catch (NumberFormatException e) {
+            quantity = BigDecimal.ZERO;
+            hasError = true;
+            errorMsg = "Invalid quantity: " + quantityStr;
+        }
+
+        String description = values.getOrDefault("description", "");
+        if (description.isBlank() && !hasError) {
+            hasError = true;
+            errorMsg = "Missing description";
+        }
+
+        return ParsedBoqItemDto.builder()
+                .rowNumber(rowNum)
+                .itemNumber(values.get("item_number"))
+                .description(description)
+                .quantity(quantity)
+                .unit(values.getOrDefault("unit", ""))
+                .materialType(values.get("material_type"))
+                .specification(values.get("specification"))
+                .hasParsingErrors(hasError)
+                .errorMessage(errorMsg)
+                .build();
+    }
+
+    /** {@code BoqParserService.getCellValueAsString} before the streaming readers. */
+    private static String cellValue(Cell cell) {
+        if (cell == null) return "";
+
+        return switch (cell.getCellType()) {
+            case STRING -> cell.getStringCellValue();
+            case NUMERIC -> {
+                if (DateUtil.isCellDateFormatted(cell)) {
+                    yield cell.getLocalDateTimeCellValue().toString();
+                }
+                double numValue = cell.getNumericCellValue();
+                if (numValue == Math.floor(numValue)) {
+                    yield String.valueOf((long) numValue);
+                }
+                yield String.valueOf(numValue);
+            }
+            case BOOLEAN -> String.valueOf(cell.getBooleanCellValue());
+            case FORMULA -> {
+                try {
+                    yield String.valueOf(cell.getNumericCellValue());
+                } catch (Exception e) {
+                    yield cell.getStringCellValue();
+                }
+            }
+            default -> "";
+        };
+    }
+
+    static void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) pool.resetPeakUsage();
+        }
+    }
+
+    /**
+     * Sum of the peak usage of each heap pool since {@link #resetPeakHeap}: an upper bound on the peak heap,
+     * as the pools need not peak at the same moment.
+     */
+    static void printPeakHeap(String benchmark) {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) peak += pool.getPeakUsage().getUsed();
+        }
+        System.out.printf("%n%s: peak heap %d MB%n", benchmark, peak / (1024 * 1024));
+    }
+
+    private static ColumnMappingDto mapping(String targetField, int columnIndex) {
+        return ColumnMappingDto.builder().targetField(targetField).columnIndex(columnIndex).confidence(1.0).build();
+    }
+
+    @FunctionalInterface
+    interface WorkbookReader {
+        void read(Path file, SheetHandlerFactory handlers) throws IOException;
+    }
+}
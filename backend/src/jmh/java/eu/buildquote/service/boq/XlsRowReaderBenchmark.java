@@ -0,0 +1,53 @@
+package eu.buildquote.service.boq;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second parsing a synthetic 50 000-row XLS into BoQ items with the record-event {@link XlsRowReader}
+ * and {@link BoqRowMapper} ({@code streaming}), against the {@code HSSFWorkbook} the parser loaded before
+ * ({@code usermodel}). The peak heap of each trial is printed after it. Output equivalence is covered by
+ * {@code XlsRowReaderTest}. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class XlsRowReaderBenchmark {
+
+    private static final int ROWS = 50_000;
+
+    private final XlsRowReader reader = new XlsRowReader();
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = SyntheticBoq.xls(ROWS);
+        SyntheticBoq.resetPeakHeap();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(BenchmarkParams params) throws IOException {
+        SyntheticBoq.printPeakHeap(params.getBenchmark());
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int streaming() throws IOException {
+        return SyntheticBoq.readStreaming(reader::read, file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int usermodel() throws IOException {
+        return SyntheticBoq.readUsermodel(file);
+    }
+}
@@ -0,0 +1,53 @@
+package eu.buildquote.service.boq;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second parsing a synthetic 40 000-row XLSX into BoQ items with {@link XlsxRowReader} and
+ * {@link BoqRowMapper} ({@code streaming}), against the usermodel workbook the parser loaded before
+ * ({@code usermodel}). The peak heap of each trial is printed after it; run with {@code -Xmx} set low to see
+ * where the usermodel runs out. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class XlsxRowReaderBenchmark {
+
+    private static final int ROWS = 40_000;
+
+    private final XlsxRowReader reader = new XlsxRowReader();
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = SyntheticBoq.xlsx(ROWS);
+        SyntheticBoq.resetPeakHeap();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(BenchmarkParams params) throws IOException {
+        SyntheticBoq.printPeakHeap(params.getBenchmark());
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int streaming() throws IOException {
+        return SyntheticBoq.readStreaming(reader::read, file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int usermodel() throws IOException {
+        return SyntheticBoq.readUsermodel(file);
+    }
+}
@@ -0,0 +1,19 @@
+package eu.buildquote.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "auth")
+@Data
+public class AuthConfig {
+    private int bcryptStrength = 10;
+    private int hashingThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private int hashingQueueCapacity = 64;
+    private int maxFailedLoginsPerAccount = 5;
+    private int maxFailedLoginsPerAddress = 50;
+    private Duration failedLoginWindow = Duration.ofMinutes(15);
+}
@@ -0,0 +1,37 @@
+package eu.buildquote.config;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "boq")
+@Validated
+@Data
+public class BoqConfig {
+    private Duration stagingTtl = Duration.ofMinutes(30);
+    private Duration importJobRetention = Duration.ofHours(24);
+    private int importWorkers = 2;
+    private int importMaxAttempts = 3;
+    private Duration importRetryBackoff = Duration.ofSeconds(30);
+    private Duration importLease = Duration.ofMinutes(5);
+    private int parseParallelism = Runtime.getRuntime().availableProcessors();
+    /**
+     * Must be a directory every node can read and write, such as a shared volume: a queued import's file
+     * lives only here until a worker on any node claims the job, and the chunks of a resumable upload may
+     * arrive at any node. Partial uploads are kept in its {@code uploads} subdirectory.
+     */
+    @NotNull(message = "boq.blob-directory must be set to a directory shared by all nodes")
+    private Path blobDirectory;
+    private Duration blobRetention = Duration.ofHours(1);
+    private Duration uploadTtl = Duration.ofHours(24);
+    private DataSize uploadMaxSize = DataSize.ofMegabytes(512);
+    private DataSize uploadChunkMaxSize = DataSize.ofMegabytes(8);
+    private Duration uploadChunkLease = Duration.ofMinutes(10);
+}
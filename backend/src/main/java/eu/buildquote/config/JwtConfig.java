@@ -10,4 +10,6 @@ import org.springframework.context.annotation.Configuration;
 public class JwtConfig {
     private String secret;
     private long expiration;
+    private int verifiedCacheSize = 10_000;
+    private int revocationCapacity = 100_000;
 }
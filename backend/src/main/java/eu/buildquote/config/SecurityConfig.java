@@ -1,6 +1,9 @@
 package eu.buildquote.config;
 
+import eu.buildquote.dto.CursorPage;
 import eu.buildquote.security.JwtAuthenticationFilter;
+import eu.buildquote.security.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,7 +15,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -24,7 +26,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
-    private final UserDetailsService userDetailsService;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final AuthConfig authConfig;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -35,11 +38,15 @@ public class SecurityConfig {
                     corsConfig.addAllowedOrigin("http://localhost:4200");
                     corsConfig.addAllowedMethod("*");
                     corsConfig.addAllowedHeader("*");
+                    corsConfig.addExposedHeader(CursorPage.NEXT_CURSOR_HEADER);
                     corsConfig.setAllowCredentials(true);
                     return corsConfig;
                 }))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // streamed responses finish on an async dispatch of a request that was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers("/api/v1/auth/me", "/api/v1/auth/password").authenticated()
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers("/actuator/**").permitAll()
                         .requestMatchers("/error").permitAll()
@@ -56,6 +63,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // rehashes the password on login when its hash was made with another cost than the configured one
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -66,6 +75,14 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int strength = authConfig.getBcryptStrength();
+        return new BCryptPasswordEncoder(strength) {
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                // "$2a$10$...": the cost is the two digits after the version
+                return encodedPassword != null && encodedPassword.length() > 6
+                        && !encodedPassword.startsWith(String.format("%02d$", strength), 4);
+            }
+        };
     }
 }
@@ -2,13 +2,17 @@ package eu.buildquote.controller;
 
 import eu.buildquote.dto.UserDto;
 import eu.buildquote.dto.auth.AuthResponse;
+import eu.buildquote.dto.auth.ChangePasswordRequest;
 import eu.buildquote.dto.auth.LoginRequest;
 import eu.buildquote.dto.auth.RegisterRequest;
+import eu.buildquote.security.AuthenticatedUser;
 import eu.buildquote.service.AuthService;
 import eu.buildquote.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -25,8 +29,21 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        return ResponseEntity.ok(authService.login(request));
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request,
+                                              HttpServletRequest servletRequest) {
+        return ResponseEntity.ok(authService.login(request, servletRequest.getRemoteAddr()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal AuthenticatedUser principal) {
+        authService.logout(principal);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/password")
+    public ResponseEntity<AuthResponse> changePassword(@AuthenticationPrincipal AuthenticatedUser principal,
+                                                       @Valid @RequestBody ChangePasswordRequest request) {
+        return ResponseEntity.ok(authService.changePassword(principal, request));
     }
 
     @GetMapping("/me")
@@ -2,16 +2,27 @@ package eu.buildquote.controller;
 
 import eu.buildquote.dto.BillOfQuantitiesDto;
 import eu.buildquote.dto.BoqItemDto;
+import eu.buildquote.dto.BoqSummaryDto;
+import eu.buildquote.dto.boq.BoqRevisionResponseDto;
 import eu.buildquote.dto.boq.BoqUploadResponseDto;
 import eu.buildquote.dto.boq.ConfirmMappingRequestDto;
+import eu.buildquote.dto.boq.CreateUploadRequestDto;
+import eu.buildquote.dto.boq.ImportJobDto;
+import eu.buildquote.dto.boq.UploadSessionDto;
+import eu.buildquote.service.BoqImportService;
 import eu.buildquote.service.BoqParserService;
 import eu.buildquote.service.BoqService;
+import eu.buildquote.service.BoqUploadService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -21,9 +32,11 @@ public class BoqController {
 
     private final BoqService boqService;
     private final BoqParserService boqParserService;
+    private final BoqImportService boqImportService;
+    private final BoqUploadService boqUploadService;
 
     @GetMapping("/projects/{projectId}/boq")
-    public ResponseEntity<List<BillOfQuantitiesDto>> getBoqsByProject(@PathVariable Long projectId) {
+    public ResponseEntity<List<BoqSummaryDto>> getBoqsByProject(@PathVariable Long projectId) {
         return ResponseEntity.ok(boqService.getBoqsByProjectId(projectId));
     }
 
@@ -41,27 +54,96 @@ public class BoqController {
         return ResponseEntity.ok(boqParserService.parseAndUpload(projectId, file));
     }
 
+    @PostMapping(value = "/projects/{projectId}/boq/upload", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> uploadBoqStreaming(
+            @PathVariable Long projectId,
+            @RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(boqParserService.parseAndStream(projectId, file));
+    }
+
+    @PostMapping("/projects/{projectId}/boq/uploads")
+    public ResponseEntity<UploadSessionDto> createUpload(
+            @PathVariable Long projectId,
+            @Valid @RequestBody CreateUploadRequestDto request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(boqUploadService.createUpload(projectId, request));
+    }
+
+    @GetMapping("/projects/{projectId}/boq/uploads/{uploadId}")
+    public ResponseEntity<UploadSessionDto> getUpload(
+            @PathVariable Long projectId,
+            @PathVariable String uploadId) {
+        return ResponseEntity.ok(boqUploadService.getUpload(projectId, uploadId));
+    }
+
+    @PutMapping(value = "/projects/{projectId}/boq/uploads/{uploadId}",
+            consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadSessionDto> uploadChunk(
+            @PathVariable Long projectId,
+            @PathVariable String uploadId,
+            @RequestParam("offset") long offset,
+            @RequestHeader("X-Chunk-SHA256") String checksum,
+            InputStream body) {
+        return ResponseEntity.ok(boqUploadService.appendChunk(projectId, uploadId, offset, checksum, body));
+    }
+
+    @PostMapping("/projects/{projectId}/boq/uploads/{uploadId}/complete")
+    public ResponseEntity<BoqUploadResponseDto> completeUpload(
+            @PathVariable Long projectId,
+            @PathVariable String uploadId) {
+        return ResponseEntity.ok(boqUploadService.completeUpload(projectId, uploadId));
+    }
+
+    @DeleteMapping("/projects/{projectId}/boq/uploads/{uploadId}")
+    public ResponseEntity<Void> abortUpload(
+            @PathVariable Long projectId,
+            @PathVariable String uploadId) {
+        boqUploadService.abortUpload(projectId, uploadId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/projects/{projectId}/boq/import")
+    public ResponseEntity<ImportJobDto> startImport(
+            @PathVariable Long projectId,
+            @RequestParam("file") MultipartFile file) {
+        return ResponseEntity.accepted().body(boqImportService.startImport(projectId, file));
+    }
+
+    @GetMapping("/boq/import-jobs/{jobId}")
+    public ResponseEntity<ImportJobDto> getImportJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(boqImportService.getJob(jobId));
+    }
+
     @PostMapping("/projects/{projectId}/boq/confirm-mapping")
     public ResponseEntity<BoqUploadResponseDto> confirmMapping(
             @PathVariable Long projectId,
-            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "file", required = false) MultipartFile file,
             @RequestParam("boqId") Long boqId,
             @RequestParam("columnMappings") String columnMappingsJson) {
+        java.util.Map<String, Integer> mappings;
         try {
             com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-            @SuppressWarnings("unchecked")
-            java.util.Map<String, Integer> mappings = mapper.readValue(columnMappingsJson,
+            mappings = mapper.readValue(columnMappingsJson,
                     mapper.getTypeFactory().constructMapType(java.util.Map.class, String.class, Integer.class));
-
-            ConfirmMappingRequestDto request = ConfirmMappingRequestDto.builder()
-                    .boqId(boqId)
-                    .columnMappings(mappings)
-                    .build();
-
-            return ResponseEntity.ok(boqParserService.confirmMapping(projectId, request, file));
         } catch (Exception e) {
             throw new eu.buildquote.exception.BadRequestException("Invalid column mappings format");
         }
+
+        ConfirmMappingRequestDto request = ConfirmMappingRequestDto.builder()
+                .boqId(boqId)
+                .columnMappings(mappings)
+                .build();
+
+        return ResponseEntity.ok(boqParserService.confirmMapping(projectId, request, file));
+    }
+
+    @PostMapping("/projects/{projectId}/boq/{boqId}/revise")
+    public ResponseEntity<BoqRevisionResponseDto> reviseBoq(
+            @PathVariable Long projectId,
+            @PathVariable Long boqId,
+            @RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(boqParserService.reviseBoq(projectId, boqId, file));
     }
 
     @GetMapping("/boq/{boqId}")
@@ -70,8 +152,11 @@ public class BoqController {
     }
 
     @GetMapping("/boq/{boqId}/items")
-    public ResponseEntity<List<BoqItemDto>> getBoqItems(@PathVariable Long boqId) {
-        return ResponseEntity.ok(boqService.getBoqItems(boqId));
+    public ResponseEntity<List<BoqItemDto>> getBoqItems(
+            @PathVariable Long boqId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return boqService.getBoqItems(boqId, cursor, limit).toResponse();
     }
 
     @PostMapping("/boq/{boqId}/items")
@@ -2,11 +2,11 @@ package eu.buildquote.controller;
 
 import eu.buildquote.entity.User;
 import eu.buildquote.repository.UserRepository;
+import eu.buildquote.security.AuthenticatedUser;
 import eu.buildquote.service.DemoDataService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -20,9 +20,8 @@ public class DemoDataController {
     private final UserRepository userRepository;
 
     @PostMapping("/load")
-    public ResponseEntity<Map<String, Object>> loadDemoData(@AuthenticationPrincipal UserDetails userDetails) {
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public ResponseEntity<Map<String, Object>> loadDemoData(@AuthenticationPrincipal AuthenticatedUser principal) {
+        User user = userRepository.getReferenceById(principal.getId());
 
         boolean alreadyLoaded = demoDataService.isDemoDataLoaded(user);
         if (alreadyLoaded) {
@@ -43,9 +42,8 @@ public class DemoDataController {
     }
 
     @GetMapping("/status")
-    public ResponseEntity<Map<String, Object>> getDemoDataStatus(@AuthenticationPrincipal UserDetails userDetails) {
-        User user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public ResponseEntity<Map<String, Object>> getDemoDataStatus(@AuthenticationPrincipal AuthenticatedUser principal) {
+        User user = userRepository.getReferenceById(principal.getId());
 
         boolean loaded = demoDataService.isDemoDataLoaded(user);
 
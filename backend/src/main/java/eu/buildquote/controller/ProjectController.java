@@ -1,6 +1,7 @@
 package eu.buildquote.controller;
 
 import eu.buildquote.dto.ProjectDto;
+import eu.buildquote.enums.ProjectStatus;
 import eu.buildquote.service.ProjectService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -17,8 +18,11 @@ public class ProjectController {
     private final ProjectService projectService;
 
     @GetMapping
-    public ResponseEntity<List<ProjectDto>> getAllProjects() {
-        return ResponseEntity.ok(projectService.getAllProjects());
+    public ResponseEntity<List<ProjectDto>> getAllProjects(
+            @RequestParam(required = false) ProjectStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return projectService.getAllProjects(status, cursor, limit).toResponse();
     }
 
     @GetMapping("/{id}")
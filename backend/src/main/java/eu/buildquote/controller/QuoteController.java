@@ -17,8 +17,12 @@ public class QuoteController {
     private final QuoteService quoteService;
 
     @GetMapping
-    public ResponseEntity<List<QuoteDto>> getAllQuotes() {
-        return ResponseEntity.ok(quoteService.getAllQuotes());
+    public ResponseEntity<List<QuoteDto>> getAllQuotes(
+            @RequestParam(required = false) Long rfqRequestId,
+            @RequestParam(required = false) Long supplierId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return quoteService.getAllQuotes(rfqRequestId, supplierId, cursor, limit).toResponse();
     }
 
     @GetMapping("/{id}")
@@ -27,8 +31,11 @@ public class QuoteController {
     }
 
     @GetMapping("/rfq/{rfqId}")
-    public ResponseEntity<List<QuoteDto>> getQuotesByRfq(@PathVariable Long rfqId) {
-        return ResponseEntity.ok(quoteService.getQuotesByRfqId(rfqId));
+    public ResponseEntity<List<QuoteDto>> getQuotesByRfq(
+            @PathVariable Long rfqId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return quoteService.getQuotesByRfqId(rfqId, cursor, limit).toResponse();
     }
 
     @PostMapping
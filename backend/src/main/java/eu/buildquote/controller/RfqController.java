@@ -1,6 +1,7 @@
 package eu.buildquote.controller;
 
 import eu.buildquote.dto.RfqRequestDto;
+import eu.buildquote.enums.RfqStatus;
 import eu.buildquote.service.RfqService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -17,8 +18,13 @@ public class RfqController {
     private final RfqService rfqService;
 
     @GetMapping
-    public ResponseEntity<List<RfqRequestDto>> getAllRfqs() {
-        return ResponseEntity.ok(rfqService.getAllRfqs());
+    public ResponseEntity<List<RfqRequestDto>> getAllRfqs(
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) Long supplierId,
+            @RequestParam(required = false) RfqStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return rfqService.getAllRfqs(projectId, supplierId, status, cursor, limit).toResponse();
     }
 
     @GetMapping("/{id}")
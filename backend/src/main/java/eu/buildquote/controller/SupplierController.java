@@ -17,8 +17,10 @@ public class SupplierController {
     private final SupplierService supplierService;
 
     @GetMapping
-    public ResponseEntity<List<SupplierDto>> getAllSuppliers() {
-        return ResponseEntity.ok(supplierService.getAllSuppliers());
+    public ResponseEntity<List<SupplierDto>> getAllSuppliers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return supplierService.getAllSuppliers(cursor, limit).toResponse();
     }
 
     @GetMapping("/{id}")
@@ -17,5 +17,7 @@ public class BillOfQuantitiesDto {
     private Long projectId;
     private String originalFilename;
     private LocalDateTime uploadedAt;
+    private Integer revision;
+    private LocalDateTime revisedAt;
     private List<BoqItemDto> items;
 }
@@ -31,4 +31,5 @@ public class BoqItemDto {
 
     private String specification;
     private String notes;
+    private String sheetName;
 }
@@ -0,0 +1,24 @@
+package eu.buildquote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoqSummaryDto {
+    private Long id;
+    private Long projectId;
+    private String originalFilename;
+    private LocalDateTime uploadedAt;
+    private Integer revision;
+    private long itemCount;
+    private Map<String, BigDecimal> totalQuantityByUnit;
+}
@@ -0,0 +1,28 @@
+package eu.buildquote.dto.boq;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoqRevisionResponseDto {
+    private Long boqId;
+    private String filename;
+    private int revision;
+    private int totalRowsParsed;
+    private int inserted;
+    private int updated;
+    private int deleted;
+    private int unchanged;
+    private List<SheetSummaryDto> sheets;
+    private List<String> warnings;
+    private int warningCount;
+    private Map<String, Integer> warningsByType;
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
@@ -14,10 +15,20 @@ import java.util.List;
 public class BoqUploadResponseDto {
     private Long boqId;
     private String filename;
-    private int totalRowsParsed;
+    /** Rows in the file, or {@code null} when only the preview sample was read ({@link #previewOnly}). */
+    private Integer totalRowsParsed;
+    /**
+     * Whether parsing stopped after the preview sample because the column mappings need confirmation. The
+     * whole file is parsed when they are confirmed.
+     */
+    private boolean previewOnly;
     private boolean requiresConfirmation;
     private double overallConfidence;
     private List<ColumnMappingDto> columnMappings;
+    private List<SheetSummaryDto> sheets;
     private List<ParsedBoqItemDto> previewItems;
     private List<String> warnings;
+    private int warningCount;
+    private Map<String, Integer> warningsByType;
+    private boolean cached;
 }
@@ -0,0 +1,26 @@
+package eu.buildquote.dto.boq;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateUploadRequestDto {
+    @NotBlank(message = "Filename is required")
+    private String filename;
+
+    @NotNull(message = "Total size is required")
+    @Positive(message = "Total size must be positive")
+    private Long totalSize;
+
+    @Pattern(regexp = "[0-9a-fA-F]{64}", message = "SHA-256 must be 64 hex characters")
+    private String sha256;
+}
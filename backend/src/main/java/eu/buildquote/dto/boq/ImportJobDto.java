@@ -0,0 +1,27 @@
+package eu.buildquote.dto.boq;
+
+import eu.buildquote.enums.ImportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobDto {
+    private Long jobId;
+    private Long projectId;
+    private String filename;
+    private ImportJobStatus status;
+    private int attempts;
+    private int rowsParsed;
+    private int warningCount;
+    private BoqUploadResponseDto result;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+}
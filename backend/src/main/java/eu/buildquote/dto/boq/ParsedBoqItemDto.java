@@ -20,6 +20,7 @@ public class ParsedBoqItemDto {
     private String materialType;
     private String specification;
     private String notes;
+    private String sheetName;
     private boolean hasParsingErrors;
     private String errorMessage;
 }
@@ -0,0 +1,21 @@
+package eu.buildquote.dto.boq;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SheetSummaryDto {
+    private String sheetName;
+    /** {@code null} when only the preview sample of the sheet was read. */
+    private Integer rowsParsed;
+    private double overallConfidence;
+    private boolean requiresConfirmation;
+    private List<ColumnMappingDto> columnMappings;
+}
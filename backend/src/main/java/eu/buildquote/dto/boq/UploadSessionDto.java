@@ -0,0 +1,22 @@
+package eu.buildquote.dto.boq;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionDto {
+    private String uploadId;
+    private Long projectId;
+    private String filename;
+    private long totalSize;
+    private long receivedBytes;
+    private boolean complete;
+    private LocalDateTime expiresAt;
+}
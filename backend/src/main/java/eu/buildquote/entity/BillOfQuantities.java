@@ -32,6 +32,20 @@ public class BillOfQuantities {
     @Column(name = "uploaded_at", nullable = false, updatable = false)
     private LocalDateTime uploadedAt;
 
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer revision = 1;
+
+    @Column(name = "revised_at")
+    private LocalDateTime revisedAt;
+
+    @Column(name = "file_sha256", length = 64)
+    private String fileSha256;
+
+    /** Upload response as JSON, kept once the items are saved so re-uploads of the same file can reuse it. */
+    @Column(name = "parse_result", columnDefinition = "TEXT")
+    private String parseResult;
+
     @OneToMany(mappedBy = "billOfQuantities", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<BoqItem> items = new ArrayList<>();
@@ -17,7 +17,8 @@ import java.math.BigDecimal;
 public class BoqItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "boq_items_id_seq")
+    @SequenceGenerator(name = "boq_items_id_seq", sequenceName = "boq_items_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -44,4 +45,7 @@ public class BoqItem {
 
     @Column(columnDefinition = "TEXT")
     private String notes;
+
+    @Column(name = "sheet_name", length = 100)
+    private String sheetName;
 }
@@ -0,0 +1,42 @@
+package eu.buildquote.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "learned_column_mappings",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "header_signature"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LearnedColumnMapping {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "header_signature", nullable = false, length = 64)
+    private String headerSignature;
+
+    @Column(name = "column_mappings", nullable = false, columnDefinition = "TEXT")
+    private String columnMappings;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
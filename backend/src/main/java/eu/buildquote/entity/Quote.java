@@ -19,13 +19,18 @@ import java.time.LocalDateTime;
 public class Quote {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "quotes_id_seq")
+    @SequenceGenerator(name = "quotes_id_seq", sequenceName = "quotes_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "rfq_request_id", nullable = false)
     private RfqRequest rfqRequest;
 
+    /** Owner of the RFQ's project, copied here so an owner's quotes across all projects page on one index. */
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "supplier_id", nullable = false)
     private Supplier supplier;
@@ -58,5 +63,6 @@ public class Quote {
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        userId = rfqRequest.getUserId();
     }
 }
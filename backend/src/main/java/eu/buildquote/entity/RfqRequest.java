@@ -18,13 +18,18 @@ import java.time.LocalDateTime;
 public class RfqRequest {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rfq_requests_id_seq")
+    @SequenceGenerator(name = "rfq_requests_id_seq", sequenceName = "rfq_requests_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
 
+    /** Owner of the project, copied here so an owner's RFQs across all projects page on one index. */
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "supplier_id", nullable = false)
     private Supplier supplier;
@@ -45,5 +50,6 @@ public class RfqRequest {
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        userId = project.getUser().getId();
     }
 }
@@ -0,0 +1,62 @@
+package eu.buildquote.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "upload_sessions")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSession {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id", nullable = false)
+    private Project project;
+
+    @Column(nullable = false)
+    private String filename;
+
+    @Column(nullable = false, length = 10)
+    private String extension;
+
+    @Column(name = "total_size", nullable = false)
+    private Long totalSize;
+
+    @Column(length = 64)
+    private String sha256;
+
+    @Column(name = "received_bytes", nullable = false)
+    private Long receivedBytes;
+
+    @Column(length = 36)
+    private String writer;
+
+    @Column(name = "writing_until")
+    private LocalDateTime writingUntil;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
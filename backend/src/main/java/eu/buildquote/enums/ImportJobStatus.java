@@ -0,0 +1,9 @@
+package eu.buildquote.enums;
+
+public enum ImportJobStatus {
+    QUEUED,
+    PARSING,
+    SAVING,
+    COMPLETED,
+    FAILED
+}
@@ -1,14 +1,68 @@
 package eu.buildquote.repository;
 
 import eu.buildquote.entity.BillOfQuantities;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BillOfQuantitiesRepository extends JpaRepository<BillOfQuantities, Long> {
     List<BillOfQuantities> findByProjectId(Long projectId);
+
+    @Query("SELECT b FROM BillOfQuantities b WHERE b.id = :id AND b.project.user.id = :ownerId")
+    Optional<BillOfQuantities> findByIdAndOwnerId(@Param("id") Long id, @Param("ownerId") Long ownerId);
+
+    @Query("SELECT COUNT(b) > 0 FROM BillOfQuantities b WHERE b.id = :id AND b.project.user.id = :ownerId")
+    boolean existsByIdAndOwnerId(@Param("id") Long id, @Param("ownerId") Long ownerId);
+
+    /** Loads the BoQ with its project, if it is part of that project and the project belongs to the user. */
+    @Query("SELECT b FROM BillOfQuantities b JOIN FETCH b.project p WHERE b.id = :id AND p.id = :projectId " +
+            "AND p.user.id = :ownerId")
+    Optional<BillOfQuantities> findByIdAndProjectIdAndOwnerId(@Param("id") Long id,
+                                                             @Param("projectId") Long projectId,
+                                                             @Param("ownerId") Long ownerId);
+
+    /**
+     * One row per BoQ and unit of the project's items; a BoQ without items gives a single row with a null unit.
+     */
+    @Query("SELECT b.id AS boqId, b.originalFilename AS originalFilename, b.uploadedAt AS uploadedAt, " +
+            "b.revision AS revision, i.unit AS unit, COUNT(i.id) AS itemCount, SUM(i.quantity) AS totalQuantity " +
+            "FROM BillOfQuantities b LEFT JOIN b.items i WHERE b.project.id = :projectId " +
+            "GROUP BY b.id, b.originalFilename, b.uploadedAt, b.revision, i.unit ORDER BY b.uploadedAt, b.id")
+    List<UnitTotal> summarizeByProjectId(@Param("projectId") Long projectId);
+
     Optional<BillOfQuantities> findFirstByProjectIdOrderByUploadedAtDesc(Long projectId);
+
+    Optional<BillOfQuantities> findFirstByProjectIdAndFileSha256AndParseResultIsNotNullOrderByUploadedAtDesc(
+            Long projectId, String fileSha256);
+
+    @Query("SELECT b.fileSha256 FROM BillOfQuantities b WHERE b.project.id = :projectId AND b.fileSha256 IS NOT NULL")
+    List<String> findFileSha256ByProjectId(@Param("projectId") Long projectId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM BillOfQuantities b WHERE b.id = :id")
+    Optional<BillOfQuantities> findByIdForUpdate(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE BillOfQuantities b SET b.parseResult = :parseResult WHERE b.id = :id")
+    int updateParseResult(@Param("id") Long id, @Param("parseResult") String parseResult);
+
+    interface UnitTotal {
+        Long getBoqId();
+        String getOriginalFilename();
+        LocalDateTime getUploadedAt();
+        Integer getRevision();
+        String getUnit();
+        long getItemCount();
+        BigDecimal getTotalQuantity();
+    }
 }
@@ -1,12 +1,21 @@
 package eu.buildquote.repository;
 
 import eu.buildquote.entity.BoqItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BoqItemRepository extends JpaRepository<BoqItem, Long> {
     List<BoqItem> findByBillOfQuantitiesId(Long boqId);
+
+    @Query("SELECT i FROM BoqItem i WHERE i.id = :id AND i.billOfQuantities.project.user.id = :ownerId")
+    Optional<BoqItem> findByIdAndOwnerId(@Param("id") Long id, @Param("ownerId") Long ownerId);
+
+    List<BoqItem> findByBillOfQuantitiesIdAndIdGreaterThanOrderById(Long boqId, long afterId, Pageable pageable);
 }
@@ -0,0 +1,39 @@
+package eu.buildquote.repository;
+
+import eu.buildquote.entity.FileBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface FileBlobRepository extends JpaRepository<FileBlob, String> {
+
+    List<FileBlob> findByRefCountAndReleasedAtBefore(int refCount, LocalDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE FileBlob b SET b.refCount = b.refCount + 1, b.releasedAt = NULL WHERE b.sha256 = :sha256")
+    int retain(@Param("sha256") String sha256);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE FileBlob b SET b.storedSize = :storedSize WHERE b.sha256 = :sha256 AND b.storedSize <> :storedSize")
+    int updateStoredSize(@Param("sha256") String sha256, @Param("storedSize") long storedSize);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE FileBlob b SET b.refCount = b.refCount - 1, b.releasedAt = :now " +
+            "WHERE b.sha256 = :sha256 AND b.refCount > 0")
+    int release(@Param("sha256") String sha256, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM FileBlob b WHERE b.sha256 = :sha256 AND b.refCount = 0")
+    int deleteUnreferenced(@Param("sha256") String sha256);
+}
@@ -0,0 +1,68 @@
+package eu.buildquote.repository;
+
+import eu.buildquote.entity.ImportJob;
+import eu.buildquote.enums.ImportJobStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+    Optional<ImportJob> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Renders as {@code SELECT ... FOR UPDATE SKIP LOCKED} on PostgreSQL, so concurrent workers never
+     * block on or claim the same job.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM ImportJob j WHERE j.status IN :statuses AND j.nextAttemptAt <= :now " +
+            "AND (j.lockedUntil IS NULL OR j.lockedUntil < :now) ORDER BY j.nextAttemptAt")
+    List<ImportJob> findClaimable(@Param("statuses") Collection<ImportJobStatus> statuses,
+                                  @Param("now") LocalDateTime now, Pageable pageable);
+
+    /** Locks the job, so finishing it and deleting its project release its blob only once between them. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM ImportJob j WHERE j.id = :id")
+    Optional<ImportJob> findByIdForUpdate(@Param("id") Long id);
+
+    /** Locks the jobs of the project that still hold a reference to their uploaded file. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM ImportJob j WHERE j.project.id = :projectId AND j.fileSha256 IS NOT NULL")
+    List<ImportJob> findHoldingFileByProjectIdForUpdate(@Param("projectId") Long projectId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = :status, j.rowsParsed = :rows, j.warningCount = :warnings " +
+            "WHERE j.id = :id AND j.lockedBy = :node")
+    int updateProgress(@Param("id") Long id, @Param("node") String node, @Param("status") ImportJobStatus status,
+                       @Param("rows") int rows, @Param("warnings") int warnings);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.boqId = :boqId WHERE j.id = :id")
+    int markPersisted(@Param("id") Long id, @Param("boqId") Long boqId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.lockedUntil = :until WHERE j.id IN :ids AND j.lockedBy = :node")
+    int extendLease(@Param("ids") Collection<Long> ids, @Param("node") String node, @Param("until") LocalDateTime until);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ImportJob j WHERE j.finishedAt < :cutoff")
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,12 @@
+package eu.buildquote.repository;
+
+import eu.buildquote.entity.LearnedColumnMapping;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface LearnedColumnMappingRepository extends JpaRepository<LearnedColumnMapping, Long> {
+    Optional<LearnedColumnMapping> findByUserIdAndHeaderSignature(Long userId, String headerSignature);
+}
@@ -2,14 +2,26 @@ package eu.buildquote.repository;
 
 import eu.buildquote.entity.Project;
 import eu.buildquote.enums.ProjectStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
     List<Project> findByUserId(Long userId);
     List<Project> findByUserIdOrderByCreatedAtDesc(Long userId);
     List<Project> findByUserIdAndStatus(Long userId, ProjectStatus status);
+    Optional<Project> findByIdAndUserId(Long id, Long userId);
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    @Query("SELECT p FROM Project p WHERE p.user.id = :userId AND (:status IS NULL OR p.status = :status) " +
+            "AND (p.createdAt, p.id) < (:createdAt, :id) ORDER BY p.createdAt DESC, p.id DESC")
+    List<Project> findPage(@Param("userId") Long userId, @Param("status") ProjectStatus status,
+                           @Param("createdAt") LocalDateTime createdAt, @Param("id") long id, Pageable pageable);
 }
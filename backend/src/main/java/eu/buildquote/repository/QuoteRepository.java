@@ -1,12 +1,16 @@
 package eu.buildquote.repository;
 
+import eu.buildquote.dto.QuoteDto;
 import eu.buildquote.entity.Quote;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface QuoteRepository extends JpaRepository<Quote, Long> {
@@ -16,4 +20,24 @@ public interface QuoteRepository extends JpaRepository<Quote, Long> {
 
     @Query("SELECT q FROM Quote q WHERE q.rfqRequest.project.user.id = :userId ORDER BY q.createdAt DESC")
     List<Quote> findByProjectUserId(@Param("userId") Long userId);
+
+    /** Loads the quote with the supplier and item its DTO shows, if its project belongs to the user. */
+    @Query("SELECT q FROM Quote q JOIN FETCH q.supplier JOIN FETCH q.boqItem WHERE q.id = :id " +
+            "AND q.rfqRequest.project.user.id = :ownerId")
+    Optional<Quote> findByIdAndOwnerId(@Param("id") Long id, @Param("ownerId") Long ownerId);
+
+    /** Builds {@link QuoteDto}s with the joined supplier and item fields in the same statement. */
+    String SELECT_DTO = "SELECT new eu.buildquote.dto.QuoteDto(q.id, r.id, s.id, i.id, q.unitPrice, q.totalPrice, " +
+            "q.materialDescription, q.deliveryDays, q.notes, q.validUntil, q.createdAt, i.description, s.companyName) " +
+            "FROM Quote q JOIN q.rfqRequest r JOIN q.supplier s JOIN q.boqItem i ";
+
+    @Query(SELECT_DTO + "WHERE q.userId = :userId AND (:rfqRequestId IS NULL OR r.id = :rfqRequestId) " +
+            "AND (:supplierId IS NULL OR s.id = :supplierId) AND (q.createdAt, q.id) < (:createdAt, :id) " +
+            "ORDER BY q.createdAt DESC, q.id DESC")
+    List<QuoteDto> findDtoPage(@Param("userId") Long userId, @Param("rfqRequestId") Long rfqRequestId,
+                               @Param("supplierId") Long supplierId, @Param("createdAt") LocalDateTime createdAt,
+                               @Param("id") long id, Pageable pageable);
+
+    @Query(SELECT_DTO + "WHERE q.id = :id AND r.project.user.id = :userId")
+    Optional<QuoteDto> findDtoByIdAndProjectUserId(@Param("id") Long id, @Param("userId") Long userId);
 }
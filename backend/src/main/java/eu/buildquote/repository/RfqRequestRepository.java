@@ -2,12 +2,15 @@ package eu.buildquote.repository;
 
 import eu.buildquote.entity.RfqRequest;
 import eu.buildquote.enums.RfqStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RfqRequestRepository extends JpaRepository<RfqRequest, Long> {
@@ -17,4 +20,20 @@ public interface RfqRequestRepository extends JpaRepository<RfqRequest, Long> {
 
     @Query("SELECT r FROM RfqRequest r WHERE r.project.user.id = :userId ORDER BY r.createdAt DESC")
     List<RfqRequest> findByProjectUserId(@Param("userId") Long userId);
+
+    /** Loads the RFQ with its project and supplier, if the project belongs to the user. */
+    @Query("SELECT r FROM RfqRequest r JOIN FETCH r.project p JOIN FETCH r.supplier WHERE r.id = :id " +
+            "AND p.user.id = :ownerId")
+    Optional<RfqRequest> findByIdAndOwnerId(@Param("id") Long id, @Param("ownerId") Long ownerId);
+
+    @Query("SELECT COUNT(r) > 0 FROM RfqRequest r WHERE r.id = :id AND r.project.user.id = :ownerId")
+    boolean existsByIdAndOwnerId(@Param("id") Long id, @Param("ownerId") Long ownerId);
+
+    @Query("SELECT r FROM RfqRequest r JOIN FETCH r.project p JOIN FETCH r.supplier s WHERE r.userId = :userId " +
+            "AND (:projectId IS NULL OR p.id = :projectId) AND (:supplierId IS NULL OR s.id = :supplierId) " +
+            "AND (:status IS NULL OR r.status = :status) AND (r.createdAt, r.id) < (:createdAt, :id) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<RfqRequest> findPage(@Param("userId") Long userId, @Param("projectId") Long projectId,
+                              @Param("supplierId") Long supplierId, @Param("status") RfqStatus status,
+                              @Param("createdAt") LocalDateTime createdAt, @Param("id") long id, Pageable pageable);
 }
@@ -2,14 +2,25 @@ package eu.buildquote.repository;
 
 import eu.buildquote.entity.Supplier;
 import eu.buildquote.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SupplierRepository extends JpaRepository<Supplier, Long> {
     List<Supplier> findByUserId(Long userId);
     List<Supplier> findByUserIdOrderByCreatedAtDesc(Long userId);
     long countByUser(User user);
+    Optional<Supplier> findByIdAndUserId(Long id, Long userId);
+
+    @Query("SELECT s FROM Supplier s WHERE s.user.id = :userId AND (s.createdAt, s.id) < (:createdAt, :id) " +
+            "ORDER BY s.createdAt DESC, s.id DESC")
+    List<Supplier> findPage(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                            @Param("id") long id, Pageable pageable);
 }
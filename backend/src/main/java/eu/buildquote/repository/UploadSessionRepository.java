@@ -0,0 +1,48 @@
+package eu.buildquote.repository;
+
+import eu.buildquote.entity.UploadSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    List<UploadSession> findByExpiresAtBefore(LocalDateTime cutoff);
+
+    @Query("SELECT s.receivedBytes FROM UploadSession s WHERE s.id = :id")
+    Optional<Long> findReceivedBytes(@Param("id") String id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.writer = :writer, s.writingUntil = :until " +
+            "WHERE s.id = :id AND (s.writingUntil IS NULL OR s.writingUntil < :now)")
+    int claimWrite(@Param("id") String id, @Param("writer") String writer, @Param("now") LocalDateTime now,
+                   @Param("until") LocalDateTime until);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.writer = NULL, s.writingUntil = NULL " +
+            "WHERE s.id = :id AND s.writer = :writer")
+    int releaseWrite(@Param("id") String id, @Param("writer") String writer);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.receivedBytes = :received, s.expiresAt = :expiresAt, " +
+            "s.writer = NULL, s.writingUntil = NULL " +
+            "WHERE s.id = :id AND s.receivedBytes = :expected AND s.writer = :writer")
+    int advance(@Param("id") String id, @Param("writer") String writer, @Param("expected") long expected,
+                @Param("received") long received, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UploadSession s WHERE s.id = :id")
+    int deleteSession(@Param("id") String id);
+}
@@ -2,6 +2,9 @@ package eu.buildquote.repository;
 
 import eu.buildquote.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,4 +13,13 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    /**
+     * Sets a new password hash unless the stored one is no longer {@code expected}, so a write based on a
+     * stale read cannot undo a concurrent password change.
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :replacement WHERE u.id = :id AND u.passwordHash = :expected")
+    int replacePasswordHash(@Param("id") Long id, @Param("expected") String expected,
+                            @Param("replacement") String replacement);
 }
@@ -0,0 +1,85 @@
+package eu.buildquote.security;
+
+import eu.buildquote.entity.User;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Principal of an authenticated request. Carries the user's id and company from the token's claims, so
+ * services can scope queries by owner without loading the user, and the token's id and issue time for
+ * revocation. The password is only set while a login is being checked and is erased afterwards.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+
+    private final Long id;
+    private final String email;
+    private final String companyName;
+    private final String tokenId;
+    private final Instant issuedAt;
+    private String password;
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getCompanyName(), null, null, null);
+    }
+
+    /** Principal for checking a login against the stored password hash. */
+    public static AuthenticatedUser withPassword(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getCompanyName(), null, null,
+                user.getPasswordHash());
+    }
+
+    /** This principal with the given password hash, e.g. after the password was rehashed. */
+    public AuthenticatedUser withPasswordHash(String passwordHash) {
+        return new AuthenticatedUser(id, email, companyName, tokenId, issuedAt, passwordHash);
+    }
+
+    public static AuthenticatedUser fromToken(Long id, String email, String companyName, String tokenId,
+                                              Instant issuedAt) {
+        return new AuthenticatedUser(id, email, companyName, tokenId, issuedAt, null);
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+}
@@ -3,73 +3,110 @@ package eu.buildquote.security;
 import eu.buildquote.config.JwtConfig;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtTokenProvider {
 
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String COMPANY_CLAIM = "company";
+
     private final JwtConfig jwtConfig;
+    private final VerifiedTokenCache verifiedTokens;
+    private final TokenRevocationList tokenRevocationList;
     private SecretKey key;
+    private JwtParser parser;
 
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8));
+        // Immutable and thread-safe, so one parser serves every request
+        this.parser = Jwts.parser().verifyWith(key).build();
     }
 
     public String generateToken(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return generateToken(userDetails.getUsername());
+        return generateToken((AuthenticatedUser) authentication.getPrincipal());
     }
 
-    public String generateToken(String email) {
+    /**
+     * Signs the user's id and company into the token next to the email, so requests can be authenticated
+     * from the token alone. The random token id lets a single token be revoked.
+     */
+    public String generateToken(AuthenticatedUser user) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtConfig.getExpiration());
 
         return Jwts.builder()
-                .subject(email)
+                .id(UUID.randomUUID().toString())
+                .subject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(COMPANY_CLAIM, user.getCompanyName())
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(key)
                 .compact();
     }
 
-    public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Verifies the token and builds its principal, parsing it once. Tokens verified before are served from
+     * {@link VerifiedTokenCache} until they expire; revocation is checked on every call either way.
+     *
+     * @return empty if the token is invalid, expired, revoked or predates the user claims
+     */
+    public Optional<AuthenticatedUser> authenticate(String token) {
+        AuthenticatedUser user = verifiedTokens.get(token);
+        if (user == null) {
+            user = verify(token);
+            if (user == null) {
+                return Optional.empty();
+            }
+        }
 
-        return claims.getSubject();
+        if (tokenRevocationList.isRevoked(user)) {
+            log.error("Revoked JWT token");
+            return Optional.empty();
+        }
+        return Optional.of(user);
     }
 
-    public boolean validateToken(String token) {
+    private AuthenticatedUser verify(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            Long userId = claims.get(USER_ID_CLAIM, Long.class);
+            if (userId == null || claims.getId() == null || claims.getIssuedAt() == null) {
+                // Issued before the user claims were added
+                log.error("JWT token without user claims");
+                return null;
+            }
+            AuthenticatedUser user = AuthenticatedUser.fromToken(userId, claims.getSubject(),
+                    claims.get(COMPANY_CLAIM, String.class), claims.getId(), claims.getIssuedAt().toInstant());
+            Date expiration = claims.getExpiration();
+            verifiedTokens.put(token, user, expiration != null ? expiration.toInstant() : null);
+            return user;
         } catch (MalformedJwtException ex) {
             log.error("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
             log.error("Expired JWT token");
         } catch (UnsupportedJwtException ex) {
             log.error("Unsupported JWT token");
+        } catch (SecurityException ex) {
+            log.error("Invalid JWT signature");
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
         }
-        return false;
+        return null;
     }
 }
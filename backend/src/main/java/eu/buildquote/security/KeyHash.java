@@ -0,0 +1,24 @@
+package eu.buildquote.security;
+
+/**
+ * 64-bit FNV-1a over the chars of a key, finished with the MurmurHash3 mix so both halves are well spread.
+ */
+final class KeyHash {
+
+    private KeyHash() {
+    }
+
+    static long of(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
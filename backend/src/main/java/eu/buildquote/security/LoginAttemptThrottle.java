@@ -0,0 +1,132 @@
+package eu.buildquote.security;
+
+import eu.buildquote.config.AuthConfig;
+import eu.buildquote.exception.TooManyRequestsException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Failed logins per account and per client address over a fixed window of {@code auth.failed-login-window}.
+ * Once either reaches its limit, further logins are refused before any password is hashed, until the window
+ * ends.
+ * <p>
+ * Counts are kept in a fixed table of slots rather than one entry per key, so memory stays constant however
+ * many accounts or addresses are tried. A key may take either of two slots, and a slot is tagged with a
+ * fingerprint of its key, so keys never add to each other's counts: a flood of failures on other accounts
+ * cannot lock out one that has none. When both slots of a key are held by other keys in the current window,
+ * the one with the lower count is taken over, so under a flood the keys with the most failures are kept and
+ * the per-address limit bounds what an evicted key gains.
+ */
+@Component
+public class LoginAttemptThrottle {
+
+    private static final int SLOTS = 1 << 16;
+    private static final long MAX_COUNT = 0xFFFF;
+
+    private final AuthConfig authConfig;
+    private final AtomicLongArray accountFailures = new AtomicLongArray(2 * SLOTS);
+    private final AtomicLongArray addressFailures = new AtomicLongArray(2 * SLOTS);
+
+    public LoginAttemptThrottle(AuthConfig authConfig) {
+        this.authConfig = authConfig;
+    }
+
+    /**
+     * @throws TooManyRequestsException if the account or the address has too many failed logins in the
+     *                                  current window
+     */
+    public void check(String email, String address) {
+        long window = currentWindow();
+        if (count(accountFailures, accountKey(email), window) >= authConfig.getMaxFailedLoginsPerAccount()
+                || count(addressFailures, address, window) >= authConfig.getMaxFailedLoginsPerAddress()) {
+            throw new TooManyRequestsException("Too many failed sign-in attempts, please try again later",
+                    remainingWindow());
+        }
+    }
+
+    public void recordFailure(String email, String address) {
+        long window = currentWindow();
+        increment(accountFailures, accountKey(email), window);
+        increment(addressFailures, address, window);
+    }
+
+    private static String accountKey(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private long currentWindow() {
+        return System.currentTimeMillis() / authConfig.getFailedLoginWindow().toMillis();
+    }
+
+    private Duration remainingWindow() {
+        long windowMillis = authConfig.getFailedLoginWindow().toMillis();
+        return Duration.ofMillis(windowMillis - System.currentTimeMillis() % windowMillis);
+    }
+
+    private static long count(AtomicLongArray counters, String key, long window) {
+        long hash = KeyHash.of(key);
+        int fingerprint = fingerprint(hash);
+        long first = counters.get(firstSlot(hash));
+        if (owns(first, fingerprint, window)) return count(first);
+        long second = counters.get(secondSlot(hash));
+        return owns(second, fingerprint, window) ? count(second) : 0;
+    }
+
+    private static void increment(AtomicLongArray counters, String key, long window) {
+        long hash = KeyHash.of(key);
+        int fingerprint = fingerprint(hash);
+        int firstSlot = firstSlot(hash);
+        int secondSlot = secondSlot(hash);
+        while (true) {
+            long first = counters.get(firstSlot);
+            long second = counters.get(secondSlot);
+            int slot;
+            long current;
+            long next;
+            if (owns(first, fingerprint, window) || owns(second, fingerprint, window)) {
+                slot = owns(first, fingerprint, window) ? firstSlot : secondSlot;
+                current = slot == firstSlot ? first : second;
+                next = slot(window, fingerprint, Math.min(count(current) + 1, MAX_COUNT));
+            } else {
+                boolean takeFirst = !live(first, window)
+                        || live(second, window) && count(first) <= count(second);
+                slot = takeFirst ? firstSlot : secondSlot;
+                current = takeFirst ? first : second;
+                next = slot(window, fingerprint, 1);
+            }
+            if (counters.compareAndSet(slot, current, next)) return;
+        }
+    }
+
+    /** A slot holds the low 16 bits of the window it counts in, a 32-bit fingerprint of its key and the count. */
+    private static long slot(long window, int fingerprint, long count) {
+        return (window & 0xFFFF) << 48 | (fingerprint & 0xFFFFFFFFL) << 16 | count;
+    }
+
+    private static boolean live(long slot, long window) {
+        return count(slot) > 0 && slot >>> 48 == (window & 0xFFFF);
+    }
+
+    private static boolean owns(long slot, int fingerprint, long window) {
+        return live(slot, window) && (int) (slot >>> 16) == fingerprint;
+    }
+
+    private static long count(long slot) {
+        return slot & MAX_COUNT;
+    }
+
+    private static int fingerprint(long hash) {
+        return (int) (hash >>> 32);
+    }
+
+    private static int firstSlot(long hash) {
+        return (int) hash & (SLOTS - 1);
+    }
+
+    private static int secondSlot(long hash) {
+        return SLOTS + ((int) hash >>> 16 & (SLOTS - 1));
+    }
+}
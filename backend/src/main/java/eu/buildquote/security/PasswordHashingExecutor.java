@@ -0,0 +1,96 @@
+package eu.buildquote.security;
+
+import eu.buildquote.config.AuthConfig;
+import eu.buildquote.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing (BCrypt) on a fixed pool of {@code auth.hashing-threads}, so a burst of logins
+ * cannot take every core from the rest of the API. The calling request thread waits for the result. At
+ * most {@code auth.hashing-queue-capacity} tasks wait for a hashing thread; beyond that a request is
+ * refused with 429 and a Retry-After estimated from the time the queue takes to drain.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor {
+
+    /** Weight of the latest task in the running average of task durations. */
+    private static final double SMOOTHING = 0.1;
+
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final AtomicLong averageNanos = new AtomicLong(TimeUnit.MILLISECONDS.toNanos(100));
+
+    public PasswordHashingExecutor(AuthConfig authConfig) {
+        this.threads = authConfig.getHashingThreads();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(authConfig.getHashingQueueCapacity()),
+                task -> {
+                    Thread thread = new Thread(task, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Runs the task on a hashing thread and returns its result. Runtime exceptions of the task, such as a
+     * failed authentication, are rethrown unchanged.
+     */
+    public <T> T execute(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timed(task));
+        } catch (RejectedExecutionException e) {
+            log.warn("Password hashing queue full, refusing request");
+            throw new TooManyRequestsException("Too many sign-in requests, please try again shortly", retryAfter());
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            if (e.getCause() instanceof Error error) throw error;
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private <T> T timed(Supplier<T> task) {
+        long start = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            averageNanos.updateAndGet(average -> (long) (average + SMOOTHING * (elapsed - average)));
+        }
+    }
+
+    /** Time for the hashing threads to work through the tasks queued now. */
+    private Duration retryAfter() {
+        long queued = queueDepth() + (long) threads;
+        return Duration.ofNanos(queued * averageNanos.get() / threads);
+    }
+
+    /** Tasks waiting for a hashing thread. */
+    int queueDepth() {
+        return executor.getQueue().size();
+    }
+}
@@ -0,0 +1,130 @@
+package eu.buildquote.security;
+
+import eu.buildquote.config.JwtConfig;
+import eu.buildquote.entity.RevokedToken;
+import eu.buildquote.repository.RevokedTokenRepository;
+import eu.buildquote.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked tokens, checked on every authenticated request. Revocations live in {@code revoked_tokens}; this
+ * node mirrors them in memory so the check costs no query for tokens that were never revoked:
+ * <ul>
+ *     <li>single tokens (logout) go into a Bloom filter, and only a filter hit is confirmed against the
+ *     table;</li>
+ *     <li>revocations of all of a user's tokens (password change) are rare and kept exactly, as the time
+ *     before which the user's tokens are no longer accepted.</li>
+ * </ul>
+ * Revocations made on this node apply at once; those of other nodes are picked up by the next incremental
+ * refresh. The filter cannot forget keys, so it is rebuilt from the unexpired rows every hour.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationList {
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+    /** Rows are re-read this far back on each refresh, covering commits that lag behind their revoked_at. */
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtConfig jwtConfig;
+
+    private volatile Mirror mirror;
+    private LocalDateTime lastRefresh;
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    public boolean isRevoked(AuthenticatedUser user) {
+        Mirror current = mirror;
+        Long revokedBefore = current.userRevocations().get(user.getId());
+        if (revokedBefore != null && user.getIssuedAt().getEpochSecond() < revokedBefore) {
+            return true;
+        }
+        return current.tokens().mightContain(user.getTokenId())
+                && revokedTokenRepository.existsByTokenId(user.getTokenId());
+    }
+
+    /** Revokes the token the user authenticated with, e.g. on logout. */
+    public void revokeToken(AuthenticatedUser user) {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.save(RevokedToken.builder()
+                .user(userRepository.getReferenceById(user.getId()))
+                .tokenId(user.getTokenId())
+                .revokedAt(now)
+                .expiresAt(now.plus(Duration.ofMillis(jwtConfig.getExpiration())))
+                .build());
+        mirror.add(user.getTokenId());
+    }
+
+    /**
+     * Revokes every token issued to the user before now, e.g. on a password change. Token issue times have
+     * second precision, so a token issued later in the current second stays valid.
+     */
+    public void revokeAllTokens(Long userId) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        RevokedToken revocation = revokedTokenRepository.save(RevokedToken.builder()
+                .user(userRepository.getReferenceById(userId))
+                .revokedAt(now)
+                .expiresAt(now.plus(Duration.ofMillis(jwtConfig.getExpiration())))
+                .build());
+        mirror.add(revocation);
+    }
+
+    @Scheduled(fixedDelay = 5_000)
+    public synchronized void refresh() {
+        LocalDateTime start = LocalDateTime.now();
+        Mirror current = mirror;
+        revokedTokenRepository.findByRevokedAtGreaterThanEqual(lastRefresh.minus(REFRESH_OVERLAP))
+                .forEach(current::add);
+        lastRefresh = start;
+    }
+
+    @Scheduled(fixedDelay = 3_600_000, initialDelay = 3_600_000)
+    public synchronized void rebuild() {
+        LocalDateTime start = LocalDateTime.now();
+        int deleted = revokedTokenRepository.deleteExpired(start);
+        List<RevokedToken> revocations = revokedTokenRepository.findByExpiresAtAfter(start);
+
+        Mirror rebuilt = new Mirror(new BloomFilter(Math.max(jwtConfig.getRevocationCapacity(),
+                2 * revocations.size()), FALSE_POSITIVE_RATE), new ConcurrentHashMap<>());
+        revocations.forEach(rebuilt::add);
+        mirror = rebuilt;
+        lastRefresh = start;
+        // Catch revocations made on this node while the rows were being read
+        refresh();
+        log.debug("Rebuilt token revocation list: {} active, {} expired deleted", revocations.size(), deleted);
+    }
+
+    private record Mirror(BloomFilter tokens, Map<Long, Long> userRevocations) {
+
+        void add(String tokenId) {
+            tokens.add(tokenId);
+        }
+
+        void add(RevokedToken revocation) {
+            if (revocation.getTokenId() != null) {
+                tokens.add(revocation.getTokenId());
+            } else {
+                long revokedBefore = revocation.getRevokedAt().atZone(ZoneId.systemDefault()).toEpochSecond();
+                userRevocations.merge(revocation.getUser().getId(), revokedBefore, Math::max);
+            }
+        }
+    }
+}
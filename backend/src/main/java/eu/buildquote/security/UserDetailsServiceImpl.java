@@ -4,16 +4,15 @@ import eu.buildquote.entity.User;
 import eu.buildquote.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collections;
-
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -23,11 +22,20 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPasswordHash(),
-                Collections.emptyList()
-        );
+        return AuthenticatedUser.withPassword(user);
+    }
+
+    /**
+     * Stores the rehashed password of a user who just logged in, unless the password was changed meanwhile.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        AuthenticatedUser authenticatedUser = (AuthenticatedUser) user;
+        if (userRepository.replacePasswordHash(authenticatedUser.getId(), user.getPassword(), newPassword) == 0) {
+            return user;
+        }
+        return authenticatedUser.withPasswordHash(newPassword);
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,62 @@
+package eu.buildquote.security;
+
+import eu.buildquote.config.JwtConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Principals of recently verified tokens, so a client's repeat requests skip signature verification and
+ * claims parsing. Entries are keyed by the token's SHA-256, so no bearer token is held in memory, and are
+ * only served until the token expires. Holds at most {@code jwt.verified-cache-size} entries; when full,
+ * expired entries are swept and new tokens are not cached until there is room again.
+ */
+@Component
+@RequiredArgsConstructor
+public class VerifiedTokenCache {
+
+    private final JwtConfig jwtConfig;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public AuthenticatedUser get(String token) {
+        String key = key(token);
+        Entry entry = entries.get(key);
+        if (entry == null) return null;
+
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.user();
+    }
+
+    public void put(String token, AuthenticatedUser user, Instant expiresAt) {
+        int maxSize = jwtConfig.getVerifiedCacheSize();
+        if (maxSize <= 0 || expiresAt == null) return;
+
+        if (entries.size() >= maxSize) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (entries.size() >= maxSize) return;
+        }
+        entries.put(key(token), new Entry(user, expiresAt.toEpochMilli()));
+    }
+
+    private static String key(String token) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(AuthenticatedUser user, long expiresAt) {}
+}
@@ -1,19 +1,27 @@
 package eu.buildquote.service;
 
 import eu.buildquote.dto.auth.AuthResponse;
+import eu.buildquote.dto.auth.ChangePasswordRequest;
 import eu.buildquote.dto.auth.LoginRequest;
 import eu.buildquote.dto.auth.RegisterRequest;
 import eu.buildquote.entity.User;
 import eu.buildquote.exception.BadRequestException;
+import eu.buildquote.exception.ConflictException;
+import eu.buildquote.exception.ResourceNotFoundException;
 import eu.buildquote.repository.UserRepository;
+import eu.buildquote.security.AuthenticatedUser;
 import eu.buildquote.security.JwtTokenProvider;
+import eu.buildquote.security.LoginAttemptThrottle;
+import eu.buildquote.security.PasswordHashingExecutor;
+import eu.buildquote.security.TokenRevocationList;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
@@ -23,23 +31,31 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
     private final AuthenticationManager authenticationManager;
+    private final TokenRevocationList tokenRevocationList;
+    private final PasswordHashingExecutor passwordHashing;
+    private final LoginAttemptThrottle loginAttemptThrottle;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
+    /**
+     * Hashes the password before touching the database: a request holds its connection from first use until
+     * it completes (open-in-view), so it must not wait for a hashing thread after that.
+     */
     public AuthResponse register(RegisterRequest request) {
+        String passwordHash = passwordHashing.execute(() -> passwordEncoder.encode(request.getPassword()));
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new BadRequestException("Email is already registered");
         }
 
         User user = User.builder()
                 .email(request.getEmail())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
+                .passwordHash(passwordHash)
                 .companyName(request.getCompanyName())
                 .phone(request.getPhone())
                 .build();
 
         user = userRepository.save(user);
 
-        String token = tokenProvider.generateToken(user.getEmail());
+        String token = tokenProvider.generateToken(AuthenticatedUser.of(user));
 
         return AuthResponse.builder()
                 .token(token)
@@ -49,15 +65,24 @@ public class AuthService {
                 .build();
     }
 
-    public AuthResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-        );
-
-        String token = tokenProvider.generateToken(authentication);
+    /**
+     * Checks the credentials on a password hashing thread. Logins for an account or from an address with too
+     * many recent failures are refused without hashing.
+     */
+    public AuthResponse login(LoginRequest request, String clientAddress) {
+        loginAttemptThrottle.check(request.getEmail(), clientAddress);
+        Authentication authentication;
+        try {
+            authentication = passwordHashing.execute(() -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
+            ));
+        } catch (AuthenticationException e) {
+            loginAttemptThrottle.recordFailure(request.getEmail(), clientAddress);
+            throw e;
+        }
 
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new BadRequestException("User not found"));
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        String token = tokenProvider.generateToken(user);
 
         return AuthResponse.builder()
                 .token(token)
@@ -66,4 +91,48 @@ public class AuthService {
                 .userId(user.getId())
                 .build();
     }
+
+    /**
+     * Revokes the token of the current request. Without one there is nothing to revoke.
+     */
+    public void logout(AuthenticatedUser principal) {
+        if (principal != null && principal.getTokenId() != null) {
+            tokenRevocationList.revokeToken(principal);
+        }
+    }
+
+    /**
+     * Sets a new password and revokes every token issued so far, signing out other sessions. The caller gets
+     * a fresh token. The user is read and both hashes computed on the hashing thread, so the request holds no
+     * database connection while it waits (see {@link #register}); the write then only goes through if the
+     * password is still the one that was checked.
+     */
+    public AuthResponse changePassword(AuthenticatedUser principal, ChangePasswordRequest request) {
+        PasswordChange change = passwordHashing.execute(() -> {
+            User current = userRepository.findById(principal.getId())
+                    .orElseThrow(() -> new ResourceNotFoundException("User", "id", principal.getId()));
+            if (!passwordEncoder.matches(request.getCurrentPassword(), current.getPasswordHash())) {
+                throw new BadRequestException("Current password is incorrect");
+            }
+            return new PasswordChange(current, passwordEncoder.encode(request.getNewPassword()));
+        });
+        User user = change.user();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (userRepository.replacePasswordHash(user.getId(), user.getPasswordHash(), change.newHash()) == 0) {
+                throw new ConflictException("Password was changed concurrently, please try again");
+            }
+            tokenRevocationList.revokeAllTokens(user.getId());
+            tokenRevocationList.revokeToken(principal);
+        });
+
+        return AuthResponse.builder()
+                .token(tokenProvider.generateToken(AuthenticatedUser.of(user)))
+                .email(user.getEmail())
+                .companyName(user.getCompanyName())
+                .userId(user.getId())
+                .build();
+    }
+
+    private record PasswordChange(User user, String newHash) {}
 }
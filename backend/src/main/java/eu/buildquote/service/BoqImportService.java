@@ -0,0 +1,109 @@
+package eu.buildquote.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.buildquote.dto.boq.BoqUploadResponseDto;
+import eu.buildquote.dto.boq.ImportJobDto;
+import eu.buildquote.entity.ImportJob;
+import eu.buildquote.entity.Project;
+import eu.buildquote.exception.BadRequestException;
+import eu.buildquote.exception.ResourceNotFoundException;
+import eu.buildquote.repository.ImportJobRepository;
+import eu.buildquote.service.boq.FileBlobStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BoqImportService {
+
+    private final ImportJobRepository importJobRepository;
+    private final FileBlobStore fileBlobStore;
+    private final BoqParserService boqParserService;
+    private final ProjectService projectService;
+    private final UserService userService;
+    private final BoqImportWorker importWorker;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Queues an import of the upload. The file is streamed to disk and kept in the blob store until the job
+     * finishes, so neither the request nor the job holds it in memory.
+     */
+    public ImportJobDto startImport(Long projectId, MultipartFile file) {
+        Project project = projectService.findProjectById(projectId);
+        String filename = file.getOriginalFilename();
+        String extension = boqParserService.resolveExtension(filename);
+
+        Path spooledFile = boqParserService.spoolUpload(file, extension);
+        ImportJob job;
+        try {
+            String sha256 = fileBlobStore.hash(spooledFile);
+            job = transactionTemplate.execute(status -> {
+                fileBlobStore.retain(sha256, spooledFile);
+                return importJobRepository.save(ImportJob.builder()
+                        .user(project.getUser())
+                        .project(project)
+                        .filename(filename)
+                        .extension(extension)
+                        .fileSha256(sha256)
+                        .build());
+            });
+        } catch (IOException e) {
+            throw new BadRequestException("Failed to read uploaded file: " + e.getMessage());
+        } finally {
+            deleteTempFile(spooledFile);
+        }
+
+        importWorker.wakeUp();
+        return toDto(job);
+    }
+
+    public ImportJobDto getJob(Long jobId) {
+        return importJobRepository.findByIdAndUserId(jobId, userService.getCurrentUserId())
+                .map(this::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Import job", "id", jobId));
+    }
+
+    private ImportJobDto toDto(ImportJob job) {
+        return ImportJobDto.builder()
+                .jobId(job.getId())
+                .projectId(job.getProject().getId())
+                .filename(job.getFilename())
+                .status(job.getStatus())
+                .attempts(job.getAttempts())
+                .rowsParsed(job.getRowsParsed())
+                .warningCount(job.getWarningCount())
+                .result(readResult(job))
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+
+    private BoqUploadResponseDto readResult(ImportJob job) {
+        if (job.getResult() == null) return null;
+        try {
+            return objectMapper.readValue(job.getResult(), BoqUploadResponseDto.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Unreadable result for import job {}", job.getId(), e);
+            return null;
+        }
+    }
+
+    private void deleteTempFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary upload file: {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package eu.buildquote.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.buildquote.config.BoqConfig;
+import eu.buildquote.dto.boq.BoqUploadResponseDto;
+import eu.buildquote.entity.ImportJob;
+import eu.buildquote.entity.Project;
+import eu.buildquote.enums.ImportJobStatus;
+import eu.buildquote.exception.BadRequestException;
+import eu.buildquote.repository.ImportJobRepository;
+import eu.buildquote.repository.ProjectRepository;
+import eu.buildquote.service.boq.FileBlobStore;
+import eu.buildquote.service.boq.ImportProgress;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Claims queued import jobs from the shared {@code import_jobs} table and runs them on virtual threads.
+ * Every node runs one of these; claims hold a lease that is renewed while the job runs, so jobs of a
+ * node that dies are picked up again by the others once the lease expires.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BoqImportWorker {
+
+    private static final List<ImportJobStatus> PENDING =
+            List.of(ImportJobStatus.QUEUED, ImportJobStatus.PARSING, ImportJobStatus.SAVING);
+    private static final long PROGRESS_INTERVAL_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final ImportJobRepository importJobRepository;
+    private final FileBlobStore fileBlobStore;
+    private final ProjectRepository projectRepository;
+    private final BoqParserService boqParserService;
+    private final BoqConfig boqConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public void wakeUp() {
+        executor.execute(this::poll);
+    }
+
+    @Scheduled(fixedDelay = 1_000)
+    public synchronized void poll() {
+        while (running.size() < boqConfig.getImportWorkers()) {
+            ImportJob job = claimNext();
+            if (job == null) return;
+
+            running.add(job.getId());
+            executor.execute(() -> process(job));
+        }
+    }
+
+    @Scheduled(fixedDelay = 30_000)
+    public void renewLeases() {
+        if (!running.isEmpty()) {
+            importJobRepository.extendLease(Set.copyOf(running), nodeId,
+                    LocalDateTime.now().plus(boqConfig.getImportLease()));
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void deleteExpired() {
+        importJobRepository.deleteFinishedBefore(LocalDateTime.now().minus(boqConfig.getImportJobRetention()));
+    }
+
+    private ImportJob claimNext() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<ImportJob> claimable = importJobRepository.findClaimable(PENDING, now, PageRequest.of(0, 1));
+            if (claimable.isEmpty()) return null;
+
+            ImportJob job = claimable.get(0);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setLockedBy(nodeId);
+            job.setLockedUntil(now.plus(boqConfig.getImportLease()));
+            return job;
+        });
+    }
+
+    private void process(ImportJob job) {
+        try {
+            if (job.getBoqId() != null) {
+                complete(job.getId(), BoqUploadResponseDto.builder()
+                        .boqId(job.getBoqId())
+                        .filename(job.getFilename())
+                        .totalRowsParsed(job.getRowsParsed())
+                        .columnMappings(List.of())
+                        .previewItems(List.of())
+                        .warnings(List.of())
+                        .build());
+                return;
+            }
+            if (job.getAttempts() > boqConfig.getImportMaxAttempts()) {
+                fail(job.getId(), "Import failed after " + boqConfig.getImportMaxAttempts() + " attempts");
+                return;
+            }
+
+            Project project = projectRepository.findById(job.getProject().getId())
+                    .orElseThrow(() -> new BadRequestException("Project no longer exists"));
+            if (job.getFileSha256() == null) {
+                throw new BadRequestException("Uploaded file is no longer available");
+            }
+            // The job holds a reference, so a missing blob means this node does not see the shared directory;
+            // retrying gives a node that does a chance to claim the job
+            Optional<Path> file = fileBlobStore.restore(job.getFileSha256(), job.getExtension());
+            if (file.isEmpty()) {
+                throw new IllegalStateException("Blob " + job.getFileSha256()
+                        + " not found; boq.blob-directory must be shared by all nodes");
+            }
+
+            complete(job.getId(), boqParserService.importFile(
+                    project, job.getFilename(), file.get(), job.getExtension(), new JobProgress(job.getId())));
+        } catch (BadRequestException e) {
+            fail(job.getId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Import job {} failed on attempt {}", job.getId(), job.getAttempts(), e);
+            retryOrFail(job, e);
+        } finally {
+            running.remove(job.getId());
+        }
+    }
+
+    private void complete(Long jobId, BoqUploadResponseDto result) throws JsonProcessingException {
+        String json = objectMapper.writeValueAsString(result);
+        finish(jobId, job -> {
+            job.setStatus(ImportJobStatus.COMPLETED);
+            job.setBoqId(result.getBoqId());
+            // After a preview-only parse the job keeps the count of the rows read so far
+            if (result.getTotalRowsParsed() != null) {
+                job.setRowsParsed(result.getTotalRowsParsed());
+            }
+            job.setWarningCount(result.getWarningCount());
+            job.setResult(json);
+            job.setError(null);
+        });
+    }
+
+    private void fail(Long jobId, String error) {
+        finish(jobId, job -> {
+            job.setStatus(ImportJobStatus.FAILED);
+            job.setError(error);
+        });
+    }
+
+    private void finish(Long jobId, Consumer<ImportJob> update) {
+        transactionTemplate.executeWithoutResult(status -> {
+            importJobRepository.findByIdForUpdate(jobId).ifPresent(job -> {
+                update.accept(job);
+                job.setFinishedAt(LocalDateTime.now());
+                job.setLockedBy(null);
+                job.setLockedUntil(null);
+                if (job.getFileSha256() != null) {
+                    fileBlobStore.release(job.getFileSha256());
+                    job.setFileSha256(null);
+                }
+            });
+        });
+    }
+
+    private void retryOrFail(ImportJob claimed, Exception cause) {
+        if (claimed.getAttempts() >= boqConfig.getImportMaxAttempts()) {
+            fail(claimed.getId(), "Import failed");
+            return;
+        }
+
+        Duration backoff = boqConfig.getImportRetryBackoff().multipliedBy(1L << (claimed.getAttempts() - 1));
+        transactionTemplate.executeWithoutResult(status ->
+                importJobRepository.findById(claimed.getId()).ifPresent(job -> {
+                    job.setStatus(ImportJobStatus.QUEUED);
+                    job.setError(cause.getMessage());
+                    job.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+                    job.setLockedBy(null);
+                    job.setLockedUntil(null);
+                }));
+    }
+
+    private class JobProgress implements ImportProgress {
+
+        private final Long jobId;
+        private ImportJobStatus status = ImportJobStatus.QUEUED;
+        private int rows;
+        private int warnings;
+        private long lastUpdate;
+
+        JobProgress(Long jobId) {
+            this.jobId = jobId;
+        }
+
+        @Override
+        public void phase(ImportJobStatus status) {
+            this.status = status;
+            importJobRepository.updateProgress(jobId, nodeId, status, rows, warnings);
+            lastUpdate = System.nanoTime();
+        }
+
+        @Override
+        public void rowsParsed(int rows, int warnings) {
+            this.rows = rows;
+            this.warnings = warnings;
+            long now = System.nanoTime();
+            if (now - lastUpdate >= PROGRESS_INTERVAL_NANOS) {
+                lastUpdate = now;
+                importJobRepository.updateProgress(jobId, nodeId, status, rows, warnings);
+            }
+        }
+
+        @Override
+        public void persisted(Long boqId) {
+            importJobRepository.markPersisted(jobId, boqId);
+        }
+    }
+}
@@ -1,29 +1,44 @@
 package eu.buildquote.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import eu.buildquote.dto.boq.*;
 import eu.buildquote.entity.BillOfQuantities;
-import eu.buildquote.entity.BoqItem;
 import eu.buildquote.entity.Project;
+import eu.buildquote.enums.ImportJobStatus;
 import eu.buildquote.exception.BadRequestException;
+import eu.buildquote.exception.ResourceNotFoundException;
 import eu.buildquote.repository.BillOfQuantitiesRepository;
 import eu.buildquote.repository.BoqItemRepository;
+import eu.buildquote.service.boq.BoqItemBatchWriter;
+import eu.buildquote.service.boq.BoqRevisionDiff;
+import eu.buildquote.service.boq.BoqRowHandler;
+import eu.buildquote.service.boq.BoqRowMapper;
+import eu.buildquote.service.boq.BoqStagingStore;
+import eu.buildquote.service.boq.CsvRowReader;
+import eu.buildquote.service.boq.FileBlobStore;
+import eu.buildquote.service.boq.HeaderMatcher;
+import eu.buildquote.service.boq.ImportProgress;
+import eu.buildquote.service.boq.LearnedMappingStore;
+import eu.buildquote.service.boq.NdjsonImportProgress;
+import eu.buildquote.service.boq.SheetHandlerFactory;
+import eu.buildquote.service.boq.StagedUpload;
+import eu.buildquote.service.boq.XlsRowReader;
+import eu.buildquote.service.boq.XlsxRowReader;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
-import org.apache.commons.text.similarity.LevenshteinDistance;
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.*;
-import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -33,329 +48,374 @@ public class BoqParserService {
     private final BillOfQuantitiesRepository boqRepository;
     private final BoqItemRepository boqItemRepository;
     private final ProjectService projectService;
+    private final UserService userService;
+    private final XlsxRowReader xlsxRowReader;
+    private final XlsRowReader xlsRowReader;
+    private final CsvRowReader csvRowReader;
+    private final BoqStagingStore stagingStore;
+    private final HeaderMatcher headerMatcher;
+    private final LearnedMappingStore learnedMappingStore;
+    private final TransactionTemplate transactionTemplate;
+    private final FileBlobStore fileBlobStore;
+    private final ObjectMapper objectMapper;
+    private final BoqItemBatchWriter boqItemBatchWriter;
 
     private static final double CONFIDENCE_THRESHOLD = 0.7;
     private static final int PREVIEW_ROWS = 10;
+    private static final int MAX_WARNINGS = 100;
 
-    private static final Map<String, List<String>> COLUMN_ALIASES = Map.of(
-            "item_number", List.of("nr", "jrk", "item", "#", "number", "no", "item no", "item number", "jrk nr"),
-            "description", List.of("kirjeldus", "description", "nimetus", "töö kirjeldus", "desc", "work description", "item description"),
-            "quantity", List.of("kogus", "quantity", "maht", "amount", "qty", "hulk", "kogused"),
-            "unit", List.of("ühik", "unit", "mõõtühik", "uom", "unit of measure"),
-            "material_type", List.of("materjal", "material", "tüüp", "type", "material type", "materjali tüüp"),
-            "specification", List.of("spetsifikatsioon", "spec", "märkused", "notes", "specification", "specs", "lisainfo")
-    );
-
-    @Transactional
     public BoqUploadResponseDto parseAndUpload(Long projectId, MultipartFile file) {
         Project project = projectService.findProjectById(projectId);
         String filename = file.getOriginalFilename();
+        String extension = resolveExtension(filename);
+        Path spooledFile = spoolUpload(file, extension);
 
-        if (filename == null || filename.isBlank()) {
-            throw new BadRequestException("Filename is required");
-        }
+        return importFile(project, filename, spooledFile, extension, ImportProgress.NONE);
+    }
 
-        String extension = getFileExtension(filename).toLowerCase();
-        if (!List.of("xlsx", "xls", "csv").contains(extension)) {
-            throw new BadRequestException("Unsupported file format. Please upload .xlsx, .xls, or .csv files");
-        }
+    /**
+     * Streaming variant of {@link #parseAndUpload}: the upload is spooled while the request is still being
+     * handled, then parsed while mappings, progress and warnings are written out as NDJSON events.
+     */
+    public StreamingResponseBody parseAndStream(Long projectId, MultipartFile file) {
+        Project project = projectService.findProjectById(projectId);
+        String filename = file.getOriginalFilename();
+        String extension = resolveExtension(filename);
+        Path spooledFile = spoolUpload(file, extension);
 
+        return out -> {
+            NdjsonImportProgress events = new NdjsonImportProgress(out, objectMapper);
+            try {
+                events.completed(importFile(project, filename, spooledFile, extension, events));
+            } catch (BadRequestException e) {
+                events.failed(e.getMessage());
+            }
+        };
+    }
+
+    /**
+     * Parses a spooled upload and saves the result. Takes ownership of {@code file}: it is either staged
+     * for mapping confirmation or deleted. Only the final save runs in a transaction.
+     */
+    public BoqUploadResponseDto importFile(Project project, String filename, Path file, String extension,
+                                           ImportProgress progress) {
+        boolean staged = false;
         try {
-            ParseResult parseResult;
-            if ("csv".equals(extension)) {
-                parseResult = parseCsv(file.getInputStream());
-            } else {
-                parseResult = parseExcel(file.getInputStream(), extension);
+            progress.phase(ImportJobStatus.PARSING);
+            String sha256 = fileBlobStore.hash(file);
+            Optional<BoqUploadResponseDto> completed = findCompletedImport(project.getId(), sha256);
+            if (completed.isPresent()) {
+                progress.persisted(completed.get().getBoqId());
+                return completed.get();
             }
 
-            BillOfQuantities boq = BillOfQuantities.builder()
-                    .project(project)
-                    .originalFilename(filename)
-                    .build();
-            boq = boqRepository.save(boq);
+            Long userId = project.getUser().getId();
+            ParseResult parseResult = parse(file, extension, headers -> resolveMappings(userId, headers), true, progress);
 
-            double overallConfidence = calculateOverallConfidence(parseResult.columnMappings());
+            double overallConfidence = parseResult.overallConfidence();
             boolean requiresConfirmation = overallConfidence < CONFIDENCE_THRESHOLD;
 
-            if (!requiresConfirmation) {
-                saveItems(boq, parseResult.items());
-            }
+            progress.phase(ImportJobStatus.SAVING);
+            BoqUploadResponseDto response = transactionTemplate.execute(status -> {
+                fileBlobStore.retain(sha256, file);
+                BillOfQuantities saved = boqRepository.save(BillOfQuantities.builder()
+                        .project(project)
+                        .originalFilename(filename)
+                        .fileSha256(sha256)
+                        .build());
+                BoqUploadResponseDto result = toResponse(saved.getId(), filename, parseResult,
+                        requiresConfirmation, overallConfidence);
+                if (!requiresConfirmation) {
+                    saveItems(saved, parseResult.items());
+                    saved.setParseResult(toJson(result));
+                }
+                progress.persisted(saved.getId());
+                return result;
+            });
 
-            return BoqUploadResponseDto.builder()
-                    .boqId(boq.getId())
-                    .filename(filename)
-                    .totalRowsParsed(parseResult.items().size())
-                    .requiresConfirmation(requiresConfirmation)
-                    .overallConfidence(overallConfidence)
-                    .columnMappings(parseResult.columnMappings())
-                    .previewItems(parseResult.items().stream().limit(PREVIEW_ROWS).toList())
-                    .warnings(parseResult.warnings())
-                    .build();
+            if (requiresConfirmation) {
+                stagingStore.stage(response.getBoqId(), file, extension);
+                staged = true;
+            }
+            return response;
 
         } catch (IOException e) {
             log.error("Error parsing file: {}", filename, e);
             throw new BadRequestException("Failed to parse file: " + e.getMessage());
+        } finally {
+            if (!staged) {
+                deleteTempFile(file);
+            }
         }
     }
 
-    @Transactional
     public BoqUploadResponseDto confirmMapping(Long projectId, ConfirmMappingRequestDto request, MultipartFile file) {
-        projectService.findProjectById(projectId);
+        Project project = projectService.findProjectById(projectId);
 
         BillOfQuantities boq = boqRepository.findById(request.getBoqId())
+                .filter(b -> b.getProject().getId().equals(projectId))
                 .orElseThrow(() -> new BadRequestException("BOQ not found"));
 
-        if (file == null || file.isEmpty()) {
-            throw new BadRequestException("File is required for re-parsing with confirmed mappings");
-        }
-
-        String filename = file.getOriginalFilename();
-        String extension = getFileExtension(filename != null ? filename : "").toLowerCase();
-
+        Optional<StagedUpload> stagedUpload = stagingStore.find(boq.getId());
+        Path spooledFile = null;
         try {
-            List<List<String>> rawData;
-            List<String> headers;
+            // Sheets that were detected confidently keep their own layout; the confirmed one covers the rest.
+            Long userId = project.getUser().getId();
+            List<List<String>> confirmedHeaders = Collections.synchronizedList(new ArrayList<>());
+            Function<List<String>, HeaderMapping> mappingResolver = headers -> {
+                HeaderMapping detected = resolveMappings(userId, headers);
+                if (detected.confidence() >= CONFIDENCE_THRESHOLD) {
+                    return detected;
+                }
+                confirmedHeaders.add(headers);
+                return new HeaderMapping(toConfirmedMappings(headers, request.getColumnMappings()), 1.0);
+            };
 
-            if ("csv".equals(extension)) {
-                RawParseResult rawResult = parseCsvRaw(file.getInputStream());
-                rawData = rawResult.data();
-                headers = rawResult.headers();
+            ParseResult parseResult;
+            if (stagedUpload.isPresent()) {
+                parseResult = parse(stagedUpload.get().file(), stagedUpload.get().extension(), mappingResolver,
+                        false, ImportProgress.NONE);
+            } else if (file != null && !file.isEmpty()) {
+                String filename = file.getOriginalFilename();
+                String extension = getFileExtension(filename != null ? filename : "").toLowerCase();
+                spooledFile = spoolToTempFile(file, extension);
+                parseResult = parse(spooledFile, extension, mappingResolver, false, ImportProgress.NONE);
             } else {
-                RawParseResult rawResult = parseExcelRaw(file.getInputStream(), extension);
-                rawData = rawResult.data();
-                headers = rawResult.headers();
-            }
-
-            List<ColumnMappingDto> confirmedMappings = new ArrayList<>();
-            for (Map.Entry<String, Integer> entry : request.getColumnMappings().entrySet()) {
-                if (entry.getValue() >= 0 && entry.getValue() < headers.size()) {
-                    confirmedMappings.add(ColumnMappingDto.builder()
-                            .targetField(entry.getKey())
-                            .columnIndex(entry.getValue())
-                            .detectedHeader(headers.get(entry.getValue()))
-                            .confidence(1.0)
-                            .alternativeHeaders(List.of())
-                            .build());
+                String extension = getFileExtension(boq.getOriginalFilename()).toLowerCase();
+                spooledFile = boq.getFileSha256() == null ? null
+                        : fileBlobStore.restore(boq.getFileSha256(), extension).orElse(null);
+                if (spooledFile == null) {
+                    throw new BadRequestException("Uploaded file has expired, please upload the file again");
                 }
+                parseResult = parse(spooledFile, extension, mappingResolver, false, ImportProgress.NONE);
             }
 
-            List<ParsedBoqItemDto> items = new ArrayList<>();
-            List<String> warnings = new ArrayList<>();
-            int rowNum = 2;
-
-            for (List<String> row : rawData) {
-                try {
-                    ParsedBoqItemDto item = parseRowWithMappings(row, rowNum, confirmedMappings);
-                    items.add(item);
-                } catch (Exception e) {
-                    warnings.add("Row " + rowNum + ": " + e.getMessage());
+            BoqUploadResponseDto response = toResponse(boq.getId(), boq.getOriginalFilename(), parseResult, false, 1.0);
+            transactionTemplate.executeWithoutResult(status -> {
+                saveItems(boq, parseResult.items());
+                boqRepository.updateParseResult(boq.getId(), toJson(response));
+                for (List<String> headers : confirmedHeaders) {
+                    learnedMappingStore.remember(project.getUser(), headers, toFieldIndexes(
+                            toConfirmedMappings(headers, request.getColumnMappings())));
                 }
-                rowNum++;
-            }
-
-            saveItems(boq, items);
-
-            return BoqUploadResponseDto.builder()
-                    .boqId(boq.getId())
-                    .filename(boq.getOriginalFilename())
-                    .totalRowsParsed(items.size())
-                    .requiresConfirmation(false)
-                    .overallConfidence(1.0)
-                    .columnMappings(confirmedMappings)
-                    .previewItems(items.stream().limit(PREVIEW_ROWS).toList())
-                    .warnings(warnings)
-                    .build();
+            });
+            stagingStore.remove(boq.getId());
+            return response;
 
         } catch (IOException e) {
             log.error("Error re-parsing file with confirmed mappings", e);
             throw new BadRequestException("Failed to re-parse file: " + e.getMessage());
+        } finally {
+            deleteTempFile(spooledFile);
         }
     }
 
-    private ParseResult parseExcel(InputStream inputStream, String extension) throws IOException {
-        Workbook workbook = "xlsx".equals(extension)
-                ? new XSSFWorkbook(inputStream)
-                : new HSSFWorkbook(inputStream);
-
-        Sheet sheet = workbook.getSheetAt(0);
-        List<String> headers = extractHeaders(sheet);
-        List<ColumnMappingDto> columnMappings = detectColumnMappings(headers);
-
-        List<ParsedBoqItemDto> items = new ArrayList<>();
-        List<String> warnings = new ArrayList<>();
-
-        for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-            Row row = sheet.getRow(i);
-            if (row == null || isRowEmpty(row)) continue;
-
-            try {
-                ParsedBoqItemDto item = parseExcelRow(row, i + 1, columnMappings);
-                items.add(item);
-            } catch (Exception e) {
-                warnings.add("Row " + (i + 1) + ": " + e.getMessage());
-            }
+    /**
+     * Applies a revised file to an existing BOQ in place. Rows are matched to the saved items (see
+     * {@link BoqRevisionDiff}) and only the differences are written, so quotes on matched items survive.
+     */
+    public BoqRevisionResponseDto reviseBoq(Long projectId, Long boqId, MultipartFile file) {
+        BillOfQuantities boq = boqRepository.findByIdAndProjectIdAndOwnerId(boqId, projectId,
+                        userService.getCurrentUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("BillOfQuantities", "id", boqId));
+        Project project = boq.getProject();
+        if (stagingStore.find(boqId).isPresent()) {
+            throw new BadRequestException("BOQ is still waiting for its column mapping to be confirmed");
         }
 
-        workbook.close();
-        return new ParseResult(columnMappings, items, warnings);
-    }
-
-    private RawParseResult parseExcelRaw(InputStream inputStream, String extension) throws IOException {
-        Workbook workbook = "xlsx".equals(extension)
-                ? new XSSFWorkbook(inputStream)
-                : new HSSFWorkbook(inputStream);
-
-        Sheet sheet = workbook.getSheetAt(0);
-        List<String> headers = extractHeaders(sheet);
-        List<List<String>> data = new ArrayList<>();
+        String filename = file.getOriginalFilename();
+        String extension = resolveExtension(filename);
+        Path spooledFile = spoolUpload(file, extension);
+        try {
+            Long userId = project.getUser().getId();
+            ParseResult parseResult = parse(spooledFile, extension, headers -> resolveMappings(userId, headers),
+                    false, ImportProgress.NONE);
+            if (parseResult.overallConfidence() < CONFIDENCE_THRESHOLD) {
+                throw new BadRequestException("Columns of the revised file could not be recognised. "
+                        + "Upload it once and confirm the mapping so the layout is remembered");
+            }
 
-        for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-            Row row = sheet.getRow(i);
-            if (row == null || isRowEmpty(row)) continue;
+            String sha256 = fileBlobStore.hash(spooledFile);
+            return transactionTemplate.execute(status -> {
+                BillOfQuantities locked = boqRepository.findByIdForUpdate(boqId)
+                        .orElseThrow(() -> new ResourceNotFoundException("BillOfQuantities", "id", boqId));
+                BoqRevisionDiff diff = BoqRevisionDiff.compute(
+                        boqItemRepository.findByBillOfQuantitiesId(boqId), parseResult.items());
+                boqItemBatchWriter.delete(diff.deletes());
+                boqItemBatchWriter.update(diff.updates());
+                boqItemBatchWriter.insert(boqId, diff.inserts());
+
+                fileBlobStore.retain(sha256, spooledFile);
+                if (locked.getFileSha256() != null) {
+                    fileBlobStore.release(locked.getFileSha256());
+                }
+                locked.setFileSha256(sha256);
+                // The stored upload response describes the previous file.
+                locked.setParseResult(null);
+                locked.setRevision(locked.getRevision() + 1);
+                locked.setRevisedAt(LocalDateTime.now());
+
+                return BoqRevisionResponseDto.builder()
+                        .boqId(boqId)
+                        .filename(filename)
+                        .revision(locked.getRevision())
+                        .totalRowsParsed(parseResult.items().size())
+                        .inserted(diff.inserts().size())
+                        .updated(diff.updates().size())
+                        .deleted(diff.deletes().size())
+                        .unchanged(diff.unchanged())
+                        .sheets(parseResult.summaries())
+                        .warnings(parseResult.warnings())
+                        .warningCount(parseResult.warningCount())
+                        .warningsByType(parseResult.warningsByType())
+                        .build();
+            });
 
-            List<String> rowData = new ArrayList<>();
-            for (int j = 0; j < row.getLastCellNum(); j++) {
-                Cell cell = row.getCell(j);
-                rowData.add(getCellValueAsString(cell));
-            }
-            data.add(rowData);
+        } catch (IOException e) {
+            log.error("Error parsing revised file: {}", filename, e);
+            throw new BadRequestException("Failed to parse file: " + e.getMessage());
+        } finally {
+            deleteTempFile(spooledFile);
         }
-
-        workbook.close();
-        return new RawParseResult(headers, data);
     }
 
-    private ParseResult parseCsv(InputStream inputStream) throws IOException {
-        CSVParser parser = CSVParser.parse(
-                new InputStreamReader(inputStream, StandardCharsets.UTF_8),
-                CSVFormat.DEFAULT.builder()
-                        .setHeader()
-                        .setSkipHeaderRecord(true)
-                        .setTrim(true)
-                        .build()
-        );
-
-        List<String> headers = parser.getHeaderNames();
-        List<ColumnMappingDto> columnMappings = detectColumnMappings(headers);
-
-        List<ParsedBoqItemDto> items = new ArrayList<>();
-        List<String> warnings = new ArrayList<>();
-
-        int rowNum = 2;
-        for (CSVRecord record : parser) {
-            try {
-                ParsedBoqItemDto item = parseCsvRecord(record, rowNum, columnMappings);
-                items.add(item);
-            } catch (Exception e) {
-                warnings.add("Row " + rowNum + ": " + e.getMessage());
-            }
-            rowNum++;
+    public String resolveExtension(String filename) {
+        if (filename == null || filename.isBlank()) {
+            throw new BadRequestException("Filename is required");
         }
 
-        return new ParseResult(columnMappings, items, warnings);
+        String extension = getFileExtension(filename).toLowerCase();
+        if (!List.of("xlsx", "xls", "csv").contains(extension)) {
+            throw new BadRequestException("Unsupported file format. Please upload .xlsx, .xls, or .csv files");
+        }
+        return extension;
     }
 
-    private RawParseResult parseCsvRaw(InputStream inputStream) throws IOException {
-        CSVParser parser = CSVParser.parse(
-                new InputStreamReader(inputStream, StandardCharsets.UTF_8),
-                CSVFormat.DEFAULT.builder()
-                        .setHeader()
-                        .setSkipHeaderRecord(true)
-                        .setTrim(true)
-                        .build()
-        );
-
-        List<String> headers = parser.getHeaderNames();
-        List<List<String>> data = new ArrayList<>();
-
-        for (CSVRecord record : parser) {
-            List<String> rowData = new ArrayList<>();
-            for (int i = 0; i < record.size(); i++) {
-                rowData.add(record.get(i));
-            }
-            data.add(rowData);
+    public Path spoolUpload(MultipartFile file, String extension) {
+        try {
+            return spoolToTempFile(file, extension);
+        } catch (IOException e) {
+            log.error("Error storing upload: {}", file.getOriginalFilename(), e);
+            throw new BadRequestException("Failed to read uploaded file: " + e.getMessage());
         }
+    }
 
-        return new RawParseResult(headers, data);
+    /**
+     * The stored result of an earlier import of the same file into this project, if its items were saved.
+     */
+    private Optional<BoqUploadResponseDto> findCompletedImport(Long projectId, String sha256) {
+        return boqRepository.findFirstByProjectIdAndFileSha256AndParseResultIsNotNullOrderByUploadedAtDesc(projectId, sha256)
+                .flatMap(boq -> {
+                    try {
+                        BoqUploadResponseDto cached = objectMapper.readValue(boq.getParseResult(), BoqUploadResponseDto.class);
+                        cached.setCached(true);
+                        return Optional.of(cached);
+                    } catch (JsonProcessingException e) {
+                        log.warn("Ignoring unreadable parse result of BOQ {}", boq.getId(), e);
+                        return Optional.empty();
+                    }
+                });
     }
 
-    private List<String> extractHeaders(Sheet sheet) {
-        Row headerRow = sheet.getRow(0);
-        List<String> headers = new ArrayList<>();
+    private BoqUploadResponseDto toResponse(Long boqId, String filename, ParseResult parseResult,
+                                            boolean requiresConfirmation, double overallConfidence) {
+        return BoqUploadResponseDto.builder()
+                .boqId(boqId)
+                .filename(filename)
+                .totalRowsParsed(parseResult.previewOnly() ? null : parseResult.items().size())
+                .previewOnly(parseResult.previewOnly())
+                .requiresConfirmation(requiresConfirmation)
+                .overallConfidence(overallConfidence)
+                .columnMappings(parseResult.columnMappings())
+                .sheets(parseResult.summaries())
+                .previewItems(parseResult.items().stream().limit(PREVIEW_ROWS).toList())
+                .warnings(parseResult.warnings())
+                .warningCount(parseResult.warningCount())
+                .warningsByType(parseResult.warningsByType())
+                .build();
+    }
 
-        if (headerRow != null) {
-            for (int i = 0; i < headerRow.getLastCellNum(); i++) {
-                Cell cell = headerRow.getCell(i);
-                headers.add(getCellValueAsString(cell));
-            }
+    private String toJson(BoqUploadResponseDto response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize upload result", e);
         }
-
-        return headers;
     }
 
-    private List<ColumnMappingDto> detectColumnMappings(List<String> headers) {
-        List<ColumnMappingDto> mappings = new ArrayList<>();
-        LevenshteinDistance levenshtein = new LevenshteinDistance();
-        Set<Integer> usedColumns = new HashSet<>();
-
-        for (String targetField : COLUMN_ALIASES.keySet()) {
-            List<String> aliases = COLUMN_ALIASES.get(targetField);
-
-            int bestColumnIndex = -1;
-            double bestConfidence = 0.0;
-            String bestHeader = null;
-            List<String> alternatives = new ArrayList<>();
-
-            for (int i = 0; i < headers.size(); i++) {
-                if (usedColumns.contains(i)) continue;
+    /**
+     * Parses every sheet of the file with its own header detection and merges the results in sheet order.
+     * Sheets without any data rows are left out.
+     */
+    private ParseResult parse(Path file, String extension, Function<List<String>, HeaderMapping> mappingResolver,
+                              boolean previewWhenUnconfident, ImportProgress progress) throws IOException {
+        ParseProgress parseProgress = new ParseProgress(progress);
+        List<ItemCollector> collectors = Collections.synchronizedList(new ArrayList<>());
+        SheetHandlerFactory handlers = (sheetIndex, sheetName) -> {
+            ItemCollector collector = new ItemCollector(sheetIndex, sheetName, mappingResolver,
+                    previewWhenUnconfident, parseProgress);
+            collectors.add(collector);
+            return collector;
+        };
 
-                String header = headers.get(i).toLowerCase().trim();
+        switch (extension) {
+            case "csv" -> csvRowReader.read(file, handlers.forSheet(0, null));
+            case "xlsx" -> xlsxRowReader.read(file, handlers);
+            default -> xlsRowReader.read(file, handlers);
+        }
 
-                for (String alias : aliases) {
-                    double confidence = calculateMatchConfidence(header, alias.toLowerCase(), levenshtein);
+        List<ItemCollector> sheets = collectors.stream()
+                .sorted(Comparator.comparingInt(ItemCollector::sheetIndex))
+                .toList();
+        List<ItemCollector> nonEmpty = sheets.stream().filter(ItemCollector::hasRows).toList();
+        if (nonEmpty.isEmpty()) {
+            nonEmpty = sheets.stream().limit(1).toList();
+        }
 
-                    if (confidence > bestConfidence) {
-                        if (bestHeader != null && bestConfidence > 0.5) {
-                            alternatives.add(bestHeader);
-                        }
-                        bestConfidence = confidence;
-                        bestColumnIndex = i;
-                        bestHeader = headers.get(i);
-                    } else if (confidence > 0.5 && !headers.get(i).equals(bestHeader)) {
-                        alternatives.add(headers.get(i));
-                    }
+        boolean multiSheet = nonEmpty.size() > 1;
+        List<ParsedBoqItemDto> items = new ArrayList<>();
+        List<String> warnings = new ArrayList<>();
+        for (ItemCollector sheet : nonEmpty) {
+            items.addAll(sheet.items);
+            for (String warning : sheet.warnings) {
+                if (warnings.size() < MAX_WARNINGS) {
+                    warnings.add(multiSheet ? sheet.sheetName + ": " + warning : warning);
                 }
             }
+        }
+        return new ParseResult(nonEmpty.stream().map(ItemCollector::toResult).toList(), items, warnings,
+                parseProgress.warningCount(), parseProgress.warningsByType());
+    }
 
-            if (bestColumnIndex >= 0 && bestConfidence > 0.3) {
-                usedColumns.add(bestColumnIndex);
-                mappings.add(ColumnMappingDto.builder()
-                        .targetField(targetField)
-                        .detectedHeader(bestHeader)
-                        .columnIndex(bestColumnIndex)
-                        .confidence(bestConfidence)
-                        .alternativeHeaders(alternatives.stream().distinct().limit(3).toList())
+    private List<ColumnMappingDto> toConfirmedMappings(List<String> headers, Map<String, Integer> columnMappings) {
+        List<ColumnMappingDto> confirmedMappings = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : columnMappings.entrySet()) {
+            if (entry.getValue() >= 0 && entry.getValue() < headers.size()) {
+                confirmedMappings.add(ColumnMappingDto.builder()
+                        .targetField(entry.getKey())
+                        .columnIndex(entry.getValue())
+                        .detectedHeader(headers.get(entry.getValue()))
+                        .confidence(1.0)
+                        .alternativeHeaders(List.of())
                         .build());
             }
         }
-
-        return mappings;
+        return confirmedMappings;
     }
 
-    private double calculateMatchConfidence(String header, String alias, LevenshteinDistance levenshtein) {
-        if (header.equals(alias)) {
-            return 1.0;
-        }
+    private Map<String, Integer> toFieldIndexes(List<ColumnMappingDto> mappings) {
+        return mappings.stream().collect(Collectors.toMap(ColumnMappingDto::getTargetField,
+                ColumnMappingDto::getColumnIndex, (first, second) -> first, LinkedHashMap::new));
+    }
 
-        if (header.contains(alias) || alias.contains(header)) {
-            return 0.9;
+    private HeaderMapping resolveMappings(Long userId, List<String> headers) {
+        Optional<Map<String, Integer>> learned = learnedMappingStore.find(userId, headers);
+        if (learned.isPresent()) {
+            return new HeaderMapping(toConfirmedMappings(headers, learned.get()), 1.0);
         }
 
-        int maxLen = Math.max(header.length(), alias.length());
-        if (maxLen == 0) return 0.0;
-
-        int distance = levenshtein.apply(header, alias);
-        return 1.0 - ((double) distance / maxLen);
+        List<ColumnMappingDto> detected = headerMatcher.match(headers);
+        return new HeaderMapping(detected, calculateOverallConfidence(detected));
     }
 
     private double calculateOverallConfidence(List<ColumnMappingDto> mappings) {
@@ -380,146 +440,220 @@ public class BoqParserService {
         return totalConfidence / mappings.size();
     }
 
-    private ParsedBoqItemDto parseExcelRow(Row row, int rowNum, List<ColumnMappingDto> mappings) {
-        Map<String, String> values = new HashMap<>();
+    /**
+     * Writes the rows without going through entities, so large imports cost neither dirty checking nor
+     * persistence-context memory. {@code boq.getItems()} does not reflect them within the transaction.
+     */
+    private void saveItems(BillOfQuantities boq, List<ParsedBoqItemDto> parsedItems) {
+        List<ParsedBoqItemDto> items = parsedItems.stream()
+                .filter(item -> !item.isHasParsingErrors())
+                .filter(item -> item.getDescription() != null && !item.getDescription().isBlank())
+                .toList();
 
-        for (ColumnMappingDto mapping : mappings) {
-            Cell cell = row.getCell(mapping.getColumnIndex());
-            values.put(mapping.getTargetField(), getCellValueAsString(cell));
+        boqItemBatchWriter.insert(boq.getId(), items);
+    }
+
+    private Path spoolToTempFile(MultipartFile file, String extension) throws IOException {
+        Path tempFile = Files.createTempFile("boq-upload-", "." + extension);
+        file.transferTo(tempFile);
+        return tempFile;
+    }
+
+    private void deleteTempFile(Path file) {
+        if (file == null) return;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary upload file: {}", file, e);
         }
+    }
 
-        return createParsedItem(rowNum, values);
+    private String getFileExtension(String filename) {
+        int lastDot = filename.lastIndexOf('.');
+        return lastDot > 0 ? filename.substring(lastDot + 1) : "";
     }
 
-    private ParsedBoqItemDto parseCsvRecord(CSVRecord record, int rowNum, List<ColumnMappingDto> mappings) {
-        Map<String, String> values = new HashMap<>();
+    private record HeaderMapping(List<ColumnMappingDto> columnMappings, double confidence) {}
 
-        for (ColumnMappingDto mapping : mappings) {
-            if (mapping.getColumnIndex() < record.size()) {
-                values.put(mapping.getTargetField(), record.get(mapping.getColumnIndex()));
-            }
+    /**
+     * @param previewOnly whether reading stopped at the preview sample, so {@code rowsParsed} is not the
+     *                    sheet's row count
+     */
+    private record SheetResult(
+            String sheetName,
+            List<String> headers,
+            List<ColumnMappingDto> columnMappings,
+            double confidence,
+            int rowsParsed,
+            boolean previewOnly
+    ) {}
+
+    /**
+     * @param warnings the first {@value #MAX_WARNINGS} warnings; {@code warningsByType} counts all of them
+     */
+    private record ParseResult(
+            List<SheetResult> sheets,
+            List<ParsedBoqItemDto> items,
+            List<String> warnings,
+            int warningCount,
+            Map<String, Integer> warningsByType
+    ) {
+
+        double overallConfidence() {
+            return sheets.stream().mapToDouble(SheetResult::confidence).min().orElse(0.0);
+        }
+
+        boolean previewOnly() {
+            return sheets.stream().anyMatch(SheetResult::previewOnly);
+        }
+
+        /** Mappings of the least confident sheet, i.e. the one the user is asked to confirm. */
+        List<ColumnMappingDto> columnMappings() {
+            return sheets.stream()
+                    .min(Comparator.comparingDouble(SheetResult::confidence))
+                    .map(SheetResult::columnMappings)
+                    .orElse(List.of());
         }
 
-        return createParsedItem(rowNum, values);
+        List<SheetSummaryDto> summaries() {
+            return sheets.stream()
+                    .map(sheet -> SheetSummaryDto.builder()
+                            .sheetName(sheet.sheetName())
+                            .rowsParsed(sheet.previewOnly() ? null : sheet.rowsParsed())
+                            .overallConfidence(sheet.confidence())
+                            .requiresConfirmation(sheet.confidence() < CONFIDENCE_THRESHOLD)
+                            .columnMappings(sheet.columnMappings())
+                            .build())
+                    .toList();
+        }
     }
 
-    private ParsedBoqItemDto parseRowWithMappings(List<String> row, int rowNum, List<ColumnMappingDto> mappings) {
-        Map<String, String> values = new HashMap<>();
+    /**
+     * Totals across all sheets of one parse. Sheets may be parsed concurrently, so this also serializes the
+     * calls into {@link ImportProgress}.
+     */
+    private static class ParseProgress {
 
-        for (ColumnMappingDto mapping : mappings) {
-            if (mapping.getColumnIndex() < row.size()) {
-                values.put(mapping.getTargetField(), row.get(mapping.getColumnIndex()));
-            }
+        private final ImportProgress progress;
+        private final Map<String, Integer> warningsByType = new LinkedHashMap<>();
+        private int rows;
+        private int warnings;
+
+        ParseProgress(ImportProgress progress) {
+            this.progress = progress;
         }
 
-        return createParsedItem(rowNum, values);
-    }
+        synchronized void mappingsDetected(String sheetName, HeaderMapping mapping) {
+            progress.mappingsDetected(sheetName, mapping.columnMappings(), mapping.confidence());
+        }
 
-    private ParsedBoqItemDto createParsedItem(int rowNum, Map<String, String> values) {
-        String quantityStr = values.getOrDefault("quantity", "0");
-        BigDecimal quantity;
-        boolean hasError = false;
-        String errorMsg = null;
+        synchronized void row() {
+            rows++;
+            progress.rowsParsed(rows, warnings);
+        }
 
-        try {
-            String cleanedQty = quantityStr.replace(",", ".").replaceAll("[^\\d.\\-]", "").trim();
-            if (cleanedQty.isEmpty()) {
-                cleanedQty = "0";
-            }
-            quantity = new BigDecimal(cleanedQty);
-        } catch (NumberFormatException e) {
-            quantity = BigDecimal.ZERO;
-            hasError = true;
-            errorMsg = "Invalid quantity: " + quantityStr;
-        }
-
-        String description = values.getOrDefault("description", "");
-        if (description.isBlank() && !hasError) {
-            hasError = true;
-            errorMsg = "Missing description";
-        }
-
-        return ParsedBoqItemDto.builder()
-                .rowNumber(rowNum)
-                .itemNumber(values.get("item_number"))
-                .description(description)
-                .quantity(quantity)
-                .unit(values.getOrDefault("unit", ""))
-                .materialType(values.get("material_type"))
-                .specification(values.get("specification"))
-                .hasParsingErrors(hasError)
-                .errorMessage(errorMsg)
-                .build();
-    }
+        synchronized void warning(String sheetName, int rowNumber, String message) {
+            int separator = message.indexOf(':');
+            String errorType = separator > 0 ? message.substring(0, separator) : message;
+            warnings++;
+            warningsByType.merge(errorType, 1, Integer::sum);
+            progress.rowWarning(sheetName, rowNumber, errorType, message);
+            progress.rowsParsed(rows, warnings);
+        }
 
-    private void saveItems(BillOfQuantities boq, List<ParsedBoqItemDto> parsedItems) {
-        List<BoqItem> items = parsedItems.stream()
-                .filter(item -> !item.isHasParsingErrors())
-                .filter(item -> item.getDescription() != null && !item.getDescription().isBlank())
-                .map(parsed -> BoqItem.builder()
-                        .billOfQuantities(boq)
-                        .itemNumber(parsed.getItemNumber())
-                        .description(parsed.getDescription())
-                        .quantity(parsed.getQuantity())
-                        .unit(parsed.getUnit())
-                        .materialType(parsed.getMaterialType())
-                        .specification(parsed.getSpecification())
-                        .build())
-                .toList();
+        synchronized int warningCount() {
+            return warnings;
+        }
 
-        boqItemRepository.saveAll(items);
+        synchronized Map<String, Integer> warningsByType() {
+            return new LinkedHashMap<>(warningsByType);
+        }
     }
 
-    private String getCellValueAsString(Cell cell) {
-        if (cell == null) return "";
+    private class ItemCollector implements BoqRowHandler {
+
+        private final int sheetIndex;
+        private final String sheetName;
+        private final Function<List<String>, HeaderMapping> mappingResolver;
+        private final boolean previewWhenUnconfident;
+        private final ParseProgress parseProgress;
+        private List<String> headers = List.of();
+        private List<ColumnMappingDto> columnMappings = List.of();
+        private double overallConfidence;
+        private BoqRowMapper rowMapper = BoqRowMapper.of(List.of());
+        private boolean previewOnly;
+        private boolean stoppedAtPreview;
+        private final List<ParsedBoqItemDto> items = new ArrayList<>();
+        private final List<String> warnings = new ArrayList<>();
+        private int warningCount;
+
+        ItemCollector(int sheetIndex, String sheetName, Function<List<String>, HeaderMapping> mappingResolver,
+                      boolean previewWhenUnconfident, ParseProgress parseProgress) {
+            this.sheetIndex = sheetIndex;
+            this.sheetName = sheetName;
+            this.mappingResolver = mappingResolver;
+            this.previewWhenUnconfident = previewWhenUnconfident;
+            this.parseProgress = parseProgress;
+        }
 
-        return switch (cell.getCellType()) {
-            case STRING -> cell.getStringCellValue();
-            case NUMERIC -> {
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    yield cell.getLocalDateTimeCellValue().toString();
-                }
-                double numValue = cell.getNumericCellValue();
-                if (numValue == Math.floor(numValue)) {
-                    yield String.valueOf((long) numValue);
+        @Override
+        public void header(List<String> headers) {
+            HeaderMapping mapping = mappingResolver.apply(headers);
+            this.headers = headers;
+            columnMappings = mapping.columnMappings();
+            overallConfidence = mapping.confidence();
+            rowMapper = BoqRowMapper.of(columnMappings);
+            parseProgress.mappingsDetected(sheetName, mapping);
+            previewOnly = previewWhenUnconfident && overallConfidence < CONFIDENCE_THRESHOLD;
+        }
+
+        @Override
+        public BitSet columns() {
+            BitSet columns = new BitSet();
+            for (ColumnMappingDto mapping : columnMappings) {
+                if (mapping.getColumnIndex() >= 0) {
+                    columns.set(mapping.getColumnIndex());
                 }
-                yield String.valueOf(numValue);
             }
-            case BOOLEAN -> String.valueOf(cell.getBooleanCellValue());
-            case FORMULA -> {
-                try {
-                    yield String.valueOf(cell.getNumericCellValue());
-                } catch (Exception e) {
-                    yield cell.getStringCellValue();
+            return columns;
+        }
+
+        @Override
+        public boolean row(int rowNumber, List<String> cells) {
+            try {
+                ParsedBoqItemDto item = rowMapper.map(rowNumber, cells);
+                item.setSheetName(sheetName);
+                items.add(item);
+                parseProgress.row();
+                if (item.isHasParsingErrors()) {
+                    warning(rowNumber, item.getErrorMessage());
                 }
+            } catch (Exception e) {
+                warning(rowNumber, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
             }
-            default -> "";
-        };
-    }
+            stoppedAtPreview = previewOnly && items.size() >= PREVIEW_ROWS;
+            return !stoppedAtPreview;
+        }
 
-    private boolean isRowEmpty(Row row) {
-        for (int i = 0; i < row.getLastCellNum(); i++) {
-            Cell cell = row.getCell(i);
-            if (cell != null && !getCellValueAsString(cell).isBlank()) {
-                return false;
+        private void warning(int rowNumber, String message) {
+            if (warnings.size() < MAX_WARNINGS) {
+                warnings.add("Row " + rowNumber + ": " + message);
             }
+            warningCount++;
+            parseProgress.warning(sheetName, rowNumber, message);
         }
-        return true;
-    }
 
-    private String getFileExtension(String filename) {
-        int lastDot = filename.lastIndexOf('.');
-        return lastDot > 0 ? filename.substring(lastDot + 1) : "";
-    }
+        int sheetIndex() {
+            return sheetIndex;
+        }
 
-    private record ParseResult(
-            List<ColumnMappingDto> columnMappings,
-            List<ParsedBoqItemDto> items,
-            List<String> warnings
-    ) {}
+        boolean hasRows() {
+            return !items.isEmpty() || warningCount > 0;
+        }
 
-    private record RawParseResult(
-            List<String> headers,
-            List<List<String>> data
-    ) {}
+        SheetResult toResult() {
+            return new SheetResult(sheetName, headers, columnMappings, overallConfidence, items.size(),
+                    stoppedAtPreview);
+        }
+    }
 }
@@ -2,6 +2,8 @@ package eu.buildquote.service;
 
 import eu.buildquote.dto.BillOfQuantitiesDto;
 import eu.buildquote.dto.BoqItemDto;
+import eu.buildquote.dto.BoqSummaryDto;
+import eu.buildquote.dto.CursorPage;
 import eu.buildquote.entity.BillOfQuantities;
 import eu.buildquote.entity.BoqItem;
 import eu.buildquote.entity.Project;
@@ -12,7 +14,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -21,14 +25,30 @@ public class BoqService {
     private final BillOfQuantitiesRepository boqRepository;
     private final BoqItemRepository boqItemRepository;
     private final ProjectService projectService;
+    private final UserService userService;
 
+    /**
+     * Lists the project's BoQs with item counts and quantity totals per unit, without loading any items.
+     */
     @Transactional(readOnly = true)
-    public List<BillOfQuantitiesDto> getBoqsByProjectId(Long projectId) {
-        projectService.findProjectById(projectId); // Verify access
-        return boqRepository.findByProjectId(projectId)
-                .stream()
-                .map(this::toDto)
-                .toList();
+    public List<BoqSummaryDto> getBoqsByProjectId(Long projectId) {
+        projectService.verifyProjectAccess(projectId);
+        Map<Long, BoqSummaryDto> summaries = new LinkedHashMap<>();
+        for (BillOfQuantitiesRepository.UnitTotal total : boqRepository.summarizeByProjectId(projectId)) {
+            BoqSummaryDto summary = summaries.computeIfAbsent(total.getBoqId(), id -> BoqSummaryDto.builder()
+                    .id(id)
+                    .projectId(projectId)
+                    .originalFilename(total.getOriginalFilename())
+                    .uploadedAt(total.getUploadedAt())
+                    .revision(total.getRevision())
+                    .totalQuantityByUnit(new LinkedHashMap<>())
+                    .build());
+            if (total.getItemCount() > 0) {
+                summary.setItemCount(summary.getItemCount() + total.getItemCount());
+                summary.getTotalQuantityByUnit().put(total.getUnit(), total.getTotalQuantity());
+            }
+        }
+        return List.copyOf(summaries.values());
     }
 
     @Transactional(readOnly = true)
@@ -50,13 +70,18 @@ public class BoqService {
         return toDto(boq);
     }
 
+    /**
+     * Items in file order. They have no creation time, so the cursor carries only the id.
+     */
     @Transactional(readOnly = true)
-    public List<BoqItemDto> getBoqItems(Long boqId) {
-        findBoqById(boqId); // Verify access
-        return boqItemRepository.findByBillOfQuantitiesId(boqId)
-                .stream()
-                .map(this::toItemDto)
-                .toList();
+    public CursorPage<BoqItemDto> getBoqItems(Long boqId, String cursor, Integer limit) {
+        if (!boqRepository.existsByIdAndOwnerId(boqId, userService.getCurrentUserId())) {
+            throw new ResourceNotFoundException("BillOfQuantities", "id", boqId);
+        }
+        long afterId = cursor == null || cursor.isBlank() ? 0 : PageCursor.decode(cursor).id();
+        List<BoqItem> items = boqItemRepository.findByBillOfQuantitiesIdAndIdGreaterThanOrderById(boqId, afterId,
+                PageCursor.fetch(limit));
+        return PageCursor.page(items, limit, i -> new PageCursor(null, i.getId())).map(this::toItemDto);
     }
 
     @Transactional
@@ -101,17 +126,13 @@ public class BoqService {
     }
 
     private BillOfQuantities findBoqById(Long id) {
-        BillOfQuantities boq = boqRepository.findById(id)
+        return boqRepository.findByIdAndOwnerId(id, userService.getCurrentUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("BillOfQuantities", "id", id));
-        projectService.findProjectById(boq.getProject().getId()); // Verify access
-        return boq;
     }
 
     private BoqItem findBoqItemById(Long id) {
-        BoqItem item = boqItemRepository.findById(id)
+        return boqItemRepository.findByIdAndOwnerId(id, userService.getCurrentUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("BoqItem", "id", id));
-        findBoqById(item.getBillOfQuantities().getId()); // Verify access
-        return item;
     }
 
     private BillOfQuantitiesDto toDto(BillOfQuantities boq) {
@@ -120,6 +141,8 @@ public class BoqService {
                 .projectId(boq.getProject().getId())
                 .originalFilename(boq.getOriginalFilename())
                 .uploadedAt(boq.getUploadedAt())
+                .revision(boq.getRevision())
+                .revisedAt(boq.getRevisedAt())
                 .items(boq.getItems().stream().map(this::toItemDto).toList())
                 .build();
     }
@@ -135,6 +158,7 @@ public class BoqService {
                 .unit(item.getUnit())
                 .specification(item.getSpecification())
                 .notes(item.getNotes())
+                .sheetName(item.getSheetName())
                 .build();
     }
 }
@@ -0,0 +1,237 @@
+package eu.buildquote.service;
+
+import eu.buildquote.config.BoqConfig;
+import eu.buildquote.dto.boq.BoqUploadResponseDto;
+import eu.buildquote.dto.boq.CreateUploadRequestDto;
+import eu.buildquote.dto.boq.UploadSessionDto;
+import eu.buildquote.entity.Project;
+import eu.buildquote.entity.UploadSession;
+import eu.buildquote.exception.BadRequestException;
+import eu.buildquote.exception.ConflictException;
+import eu.buildquote.exception.ResourceNotFoundException;
+import eu.buildquote.repository.UploadSessionRepository;
+import eu.buildquote.service.boq.FileBlobStore;
+import eu.buildquote.service.boq.ImportProgress;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Resumable uploads for files too large for a single multipart request. Chunks are appended to a part file
+ * in the shared {@code boq.blob-directory} at the offset the session has reached, each verified against its
+ * SHA-256 before the offset moves; the assembled file is handed to {@link BoqParserService#importFile} like a
+ * regular upload. As the part file and the session row are visible to every node, consecutive chunks need
+ * not reach the same one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BoqUploadService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final ProjectService projectService;
+    private final BoqParserService boqParserService;
+    private final FileBlobStore fileBlobStore;
+    private final BoqConfig boqConfig;
+
+    public UploadSessionDto createUpload(Long projectId, CreateUploadRequestDto request) {
+        Project project = projectService.findProjectById(projectId);
+        String extension = boqParserService.resolveExtension(request.getFilename());
+        if (request.getTotalSize() > boqConfig.getUploadMaxSize().toBytes()) {
+            throw new BadRequestException("File exceeds the maximum upload size of "
+                    + boqConfig.getUploadMaxSize().toMegabytes() + "MB");
+        }
+
+        UploadSession session = uploadSessionRepository.save(UploadSession.builder()
+                .id(UUID.randomUUID().toString())
+                .user(project.getUser())
+                .project(project)
+                .filename(request.getFilename())
+                .extension(extension)
+                .totalSize(request.getTotalSize())
+                .sha256(request.getSha256() != null ? request.getSha256().toLowerCase(Locale.ROOT) : null)
+                .receivedBytes(0L)
+                .expiresAt(LocalDateTime.now().plus(boqConfig.getUploadTtl()))
+                .build());
+        return toDto(session);
+    }
+
+    public UploadSessionDto getUpload(Long projectId, String uploadId) {
+        projectService.verifyProjectAccess(projectId);
+        return toDto(findSession(projectId, uploadId));
+    }
+
+    /**
+     * Appends one chunk. {@code offset} must equal the bytes received so far; a client resuming after a
+     * dropped connection reads that from {@link #getUpload} and re-sends from there.
+     */
+    public UploadSessionDto appendChunk(Long projectId, String uploadId, long offset, String checksum,
+                                        InputStream body) {
+        projectService.verifyProjectAccess(projectId);
+        Path partFile = partFile(uploadId);
+        UploadSession session = findSession(projectId, uploadId);
+
+        // A file lock would only keep out writers on this node; the lease on the session row keeps out all
+        String writer = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(boqConfig.getUploadChunkLease());
+        if (uploadSessionRepository.claimWrite(uploadId, writer, now, until) == 0) {
+            throw new ConflictException("Another chunk of upload " + uploadId + " is being written");
+        }
+
+        try {
+            // Read past the persistence context: another node may have advanced the session since it was loaded
+            long start = uploadSessionRepository.findReceivedBytes(uploadId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Upload", "id", uploadId));
+            if (offset != start) {
+                throw new ConflictException("Upload " + uploadId + " continues at offset " + start);
+            }
+
+            Files.createDirectories(partFile.getParent());
+            try (FileChannel channel = FileChannel.open(partFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // Bytes past the committed offset are leftovers of an interrupted chunk.
+                channel.truncate(start);
+                long length = writeChunk(channel, start, body, checksum,
+                        Math.min(boqConfig.getUploadChunkMaxSize().toBytes(), session.getTotalSize() - start));
+                channel.force(false);
+
+                LocalDateTime expiresAt = LocalDateTime.now().plus(boqConfig.getUploadTtl());
+                if (uploadSessionRepository.advance(uploadId, writer, start, start + length, expiresAt) == 0) {
+                    throw new ConflictException("Upload " + uploadId + " was modified concurrently");
+                }
+                session.setReceivedBytes(start + length);
+                session.setExpiresAt(expiresAt);
+                return toDto(session);
+            }
+        } catch (IOException e) {
+            log.error("Error storing chunk of upload {}", uploadId, e);
+            throw new BadRequestException("Failed to store chunk: " + e.getMessage());
+        } finally {
+            // A no-op once advance has cleared the lease
+            uploadSessionRepository.releaseWrite(uploadId, writer);
+        }
+    }
+
+    /**
+     * Verifies the assembled file and imports it. The session ends here whatever the outcome.
+     */
+    public BoqUploadResponseDto completeUpload(Long projectId, String uploadId) {
+        Project project = projectService.findProjectById(projectId);
+        UploadSession session = findSession(projectId, uploadId);
+        if (session.getReceivedBytes() < session.getTotalSize()) {
+            throw new BadRequestException("Upload is incomplete: " + session.getReceivedBytes() + " of "
+                    + session.getTotalSize() + " bytes received");
+        }
+        if (uploadSessionRepository.deleteSession(uploadId) == 0) {
+            throw new ConflictException("Upload " + uploadId + " was already completed");
+        }
+
+        Path partFile = partFile(uploadId);
+        try {
+            if (session.getSha256() != null && !session.getSha256().equals(fileBlobStore.hash(partFile))) {
+                deletePartFile(uploadId);
+                throw new BadRequestException("File checksum does not match, please upload the file again");
+            }
+        } catch (IOException e) {
+            deletePartFile(uploadId);
+            throw new BadRequestException("Failed to read uploaded file: " + e.getMessage());
+        }
+
+        return boqParserService.importFile(project, session.getFilename(), partFile, session.getExtension(),
+                ImportProgress.NONE);
+    }
+
+    public void abortUpload(Long projectId, String uploadId) {
+        projectService.verifyProjectAccess(projectId);
+        findSession(projectId, uploadId);
+        uploadSessionRepository.deleteSession(uploadId);
+        deletePartFile(uploadId);
+    }
+
+    @Scheduled(fixedDelay = 600_000)
+    public void deleteExpired() {
+        for (UploadSession session : uploadSessionRepository.findByExpiresAtBefore(LocalDateTime.now())) {
+            if (uploadSessionRepository.deleteSession(session.getId()) > 0) {
+                deletePartFile(session.getId());
+            }
+        }
+    }
+
+    private long writeChunk(FileChannel channel, long start, InputStream body, String checksum, long maxLength)
+            throws IOException {
+        MessageDigest digest = FileBlobStore.sha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long length = 0;
+        int read;
+        while ((read = body.read(buffer)) > 0) {
+            if (length + read > maxLength) {
+                channel.truncate(start);
+                throw new BadRequestException("Chunk exceeds the allowed size of " + maxLength + " bytes");
+            }
+            digest.update(buffer, 0, read);
+            ByteBuffer data = ByteBuffer.wrap(buffer, 0, read);
+            while (data.hasRemaining()) {
+                channel.write(data, start + length + data.position());
+            }
+            length += read;
+        }
+
+        if (!HexFormat.of().formatHex(digest.digest()).equalsIgnoreCase(checksum)) {
+            channel.truncate(start);
+            throw new BadRequestException("Chunk checksum does not match, please resend the chunk");
+        }
+        return length;
+    }
+
+    private UploadSession findSession(Long projectId, String uploadId) {
+        return uploadSessionRepository.findById(uploadId)
+                .filter(session -> session.getProject().getId().equals(projectId))
+                .filter(session -> session.getExpiresAt().isAfter(LocalDateTime.now()))
+                .orElseThrow(() -> new ResourceNotFoundException("Upload", "id", uploadId));
+    }
+
+    private Path partFile(String uploadId) {
+        try {
+            return boqConfig.getBlobDirectory().resolve("uploads").resolve(UUID.fromString(uploadId) + ".part");
+        } catch (IllegalArgumentException e) {
+            throw new ResourceNotFoundException("Upload", "id", uploadId);
+        }
+    }
+
+    private void deletePartFile(String uploadId) {
+        Path partFile = partFile(uploadId);
+        try {
+            Files.deleteIfExists(partFile);
+        } catch (IOException e) {
+            log.warn("Could not delete partial upload: {}", partFile, e);
+        }
+    }
+
+    private UploadSessionDto toDto(UploadSession session) {
+        return UploadSessionDto.builder()
+                .uploadId(session.getId())
+                .projectId(session.getProject().getId())
+                .filename(session.getFilename())
+                .totalSize(session.getTotalSize())
+                .receivedBytes(session.getReceivedBytes())
+                .complete(session.getReceivedBytes() >= session.getTotalSize())
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package eu.buildquote.service;
+
+import eu.buildquote.dto.CursorPage;
+import eu.buildquote.exception.BadRequestException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Position in a listing ordered by {@code (createdAt, id)} descending, handed to clients as an opaque string.
+ * Queries continue strictly after it, so a page costs the same index range scan wherever it starts. Requests
+ * without a {@code limit} get every remaining row, as the listings returned before they were paginated.
+ */
+public record PageCursor(LocalDateTime createdAt, long id) {
+
+    public static final int MAX_LIMIT = 500;
+
+    /** Sorts after every real row, so the first page needs no separate query. */
+    private static final PageCursor START = new PageCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf('_');
+            LocalDateTime createdAt = separator > 0 ? LocalDateTime.parse(value.substring(0, separator)) : null;
+            return new PageCursor(createdAt, Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String value = (createdAt != null ? createdAt + "_" : "_") + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Requests one row more than the page size, which tells {@link #page} whether a next page exists.
+     */
+    public static Pageable fetch(Integer limit) {
+        return limit == null ? Pageable.unpaged() : PageRequest.ofSize(pageSize(limit) + 1);
+    }
+
+    public static <T> CursorPage<T> page(List<T> rows, Integer limit, Function<T, PageCursor> position) {
+        if (limit == null) {
+            return new CursorPage<>(rows, null);
+        }
+        int size = pageSize(limit);
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        return new CursorPage<>(List.copyOf(items), position.apply(items.get(size - 1)).encode());
+    }
+
+    private static int pageSize(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+}
@@ -1,11 +1,14 @@
 package eu.buildquote.service;
 
+import eu.buildquote.dto.CursorPage;
 import eu.buildquote.dto.ProjectDto;
 import eu.buildquote.entity.Project;
-import eu.buildquote.entity.User;
 import eu.buildquote.enums.ProjectStatus;
 import eu.buildquote.exception.ResourceNotFoundException;
+import eu.buildquote.repository.BillOfQuantitiesRepository;
+import eu.buildquote.repository.ImportJobRepository;
 import eu.buildquote.repository.ProjectRepository;
+import eu.buildquote.service.boq.FileBlobStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,15 +20,17 @@ import java.util.List;
 public class ProjectService {
 
     private final ProjectRepository projectRepository;
+    private final BillOfQuantitiesRepository boqRepository;
+    private final ImportJobRepository importJobRepository;
+    private final FileBlobStore fileBlobStore;
     private final UserService userService;
 
     @Transactional(readOnly = true)
-    public List<ProjectDto> getAllProjects() {
-        User currentUser = userService.getCurrentUser();
-        return projectRepository.findByUserIdOrderByCreatedAtDesc(currentUser.getId())
-                .stream()
-                .map(this::toDto)
-                .toList();
+    public CursorPage<ProjectDto> getAllProjects(ProjectStatus status, String cursor, Integer limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        List<Project> projects = projectRepository.findPage(userService.getCurrentUserId(), status, after.createdAt(), after.id(),
+                PageCursor.fetch(limit));
+        return PageCursor.page(projects, limit, p -> new PageCursor(p.getCreatedAt(), p.getId())).map(this::toDto);
     }
 
     @Transactional(readOnly = true)
@@ -36,10 +41,8 @@ public class ProjectService {
 
     @Transactional
     public ProjectDto createProject(ProjectDto dto) {
-        User currentUser = userService.getCurrentUser();
-
         Project project = Project.builder()
-                .user(currentUser)
+                .user(userService.getCurrentUserReference())
                 .name(dto.getName())
                 .description(dto.getDescription())
                 .status(dto.getStatus() != null ? dto.getStatus() : ProjectStatus.DRAFT)
@@ -66,16 +69,27 @@ public class ProjectService {
     @Transactional
     public void deleteProject(Long id) {
         Project project = findProjectById(id);
+        boqRepository.findFileSha256ByProjectId(id).forEach(fileBlobStore::release);
+        // Unfinished jobs go with the project by the foreign key cascade, so their uploads are released here
+        importJobRepository.findHoldingFileByProjectIdForUpdate(id)
+                .forEach(job -> fileBlobStore.release(job.getFileSha256()));
         projectRepository.delete(project);
     }
 
     public Project findProjectById(Long id) {
-        User currentUser = userService.getCurrentUser();
-        return projectRepository.findById(id)
-                .filter(p -> p.getUser().getId().equals(currentUser.getId()))
+        return projectRepository.findByIdAndUserId(id, userService.getCurrentUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("Project", "id", id));
     }
 
+    /**
+     * Like {@link #findProjectById}, for callers that only need to know the project is the user's.
+     */
+    public void verifyProjectAccess(Long id) {
+        if (!projectRepository.existsByIdAndUserId(id, userService.getCurrentUserId())) {
+            throw new ResourceNotFoundException("Project", "id", id);
+        }
+    }
+
     private ProjectDto toDto(Project project) {
         return ProjectDto.builder()
                 .id(project.getId())
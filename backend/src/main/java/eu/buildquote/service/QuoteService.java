@@ -1,10 +1,12 @@
 package eu.buildquote.service;
 
+import eu.buildquote.dto.CursorPage;
 import eu.buildquote.dto.QuoteDto;
 import eu.buildquote.entity.*;
 import eu.buildquote.exception.ResourceNotFoundException;
 import eu.buildquote.repository.BoqItemRepository;
 import eu.buildquote.repository.QuoteRepository;
+import eu.buildquote.repository.RfqRequestRepository;
 import eu.buildquote.repository.SupplierRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -19,43 +21,37 @@ public class QuoteService {
     private final QuoteRepository quoteRepository;
     private final BoqItemRepository boqItemRepository;
     private final SupplierRepository supplierRepository;
-    private final RfqService rfqService;
+    private final RfqRequestRepository rfqRepository;
     private final UserService userService;
 
     @Transactional(readOnly = true)
-    public List<QuoteDto> getAllQuotes() {
-        User currentUser = userService.getCurrentUser();
-        return quoteRepository.findByProjectUserId(currentUser.getId())
-                .stream()
-                .map(this::toDto)
-                .toList();
+    public CursorPage<QuoteDto> getAllQuotes(Long rfqRequestId, Long supplierId, String cursor, Integer limit) {
+        return findQuotes(userService.getCurrentUserId(), rfqRequestId, supplierId, cursor, limit);
     }
 
     @Transactional(readOnly = true)
     public QuoteDto getQuoteById(Long id) {
-        Quote quote = findQuoteById(id);
-        return toDto(quote);
+        return quoteRepository.findDtoByIdAndProjectUserId(id, userService.getCurrentUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("Quote", "id", id));
     }
 
     @Transactional(readOnly = true)
-    public List<QuoteDto> getQuotesByRfqId(Long rfqId) {
-        rfqService.findRfqById(rfqId); // Verify access
-        return quoteRepository.findByRfqRequestId(rfqId)
-                .stream()
-                .map(this::toDto)
-                .toList();
+    public CursorPage<QuoteDto> getQuotesByRfqId(Long rfqId, String cursor, Integer limit) {
+        Long userId = userService.getCurrentUserId();
+        if (!rfqRepository.existsByIdAndOwnerId(rfqId, userId)) {
+            throw new ResourceNotFoundException("RfqRequest", "id", rfqId);
+        }
+        return findQuotes(userId, rfqId, null, cursor, limit);
     }
 
     @Transactional
     public QuoteDto createQuote(QuoteDto dto) {
-        RfqRequest rfq = rfqService.findRfqById(dto.getRfqRequestId());
-
-        User currentUser = userService.getCurrentUser();
-        Supplier supplier = supplierRepository.findById(dto.getSupplierId())
-                .filter(s -> s.getUser().getId().equals(currentUser.getId()))
+        Long userId = userService.getCurrentUserId();
+        RfqRequest rfq = rfqRepository.findByIdAndOwnerId(dto.getRfqRequestId(), userId)
+                .orElseThrow(() -> new ResourceNotFoundException("RfqRequest", "id", dto.getRfqRequestId()));
+        Supplier supplier = supplierRepository.findByIdAndUserId(dto.getSupplierId(), userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier", "id", dto.getSupplierId()));
-
-        BoqItem boqItem = boqItemRepository.findById(dto.getBoqItemId())
+        BoqItem boqItem = boqItemRepository.findByIdAndOwnerId(dto.getBoqItemId(), userId)
                 .orElseThrow(() -> new ResourceNotFoundException("BoqItem", "id", dto.getBoqItemId()));
 
         Quote quote = Quote.builder()
@@ -96,12 +92,18 @@ public class QuoteService {
     }
 
     private Quote findQuoteById(Long id) {
-        User currentUser = userService.getCurrentUser();
-        return quoteRepository.findById(id)
-                .filter(q -> q.getRfqRequest().getProject().getUser().getId().equals(currentUser.getId()))
+        return quoteRepository.findByIdAndOwnerId(id, userService.getCurrentUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("Quote", "id", id));
     }
 
+    private CursorPage<QuoteDto> findQuotes(Long userId, Long rfqRequestId, Long supplierId, String cursor,
+                                            Integer limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        List<QuoteDto> quotes = quoteRepository.findDtoPage(userId, rfqRequestId, supplierId, after.createdAt(),
+                after.id(), PageCursor.fetch(limit));
+        return PageCursor.page(quotes, limit, q -> new PageCursor(q.getCreatedAt(), q.getId()));
+    }
+
     private QuoteDto toDto(Quote quote) {
         return QuoteDto.builder()
                 .id(quote.getId())
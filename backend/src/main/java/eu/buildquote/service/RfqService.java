@@ -1,13 +1,14 @@
 package eu.buildquote.service;
 
+import eu.buildquote.dto.CursorPage;
 import eu.buildquote.dto.RfqRequestDto;
 import eu.buildquote.entity.Project;
 import eu.buildquote.entity.RfqRequest;
 import eu.buildquote.entity.Supplier;
-import eu.buildquote.entity.User;
 import eu.buildquote.enums.RfqStatus;
 import eu.buildquote.exception.BadRequestException;
 import eu.buildquote.exception.ResourceNotFoundException;
+import eu.buildquote.repository.ProjectRepository;
 import eu.buildquote.repository.RfqRequestRepository;
 import eu.buildquote.repository.SupplierRepository;
 import lombok.RequiredArgsConstructor;
@@ -23,16 +24,16 @@ public class RfqService {
 
     private final RfqRequestRepository rfqRepository;
     private final SupplierRepository supplierRepository;
-    private final ProjectService projectService;
+    private final ProjectRepository projectRepository;
     private final UserService userService;
 
     @Transactional(readOnly = true)
-    public List<RfqRequestDto> getAllRfqs() {
-        User currentUser = userService.getCurrentUser();
-        return rfqRepository.findByProjectUserId(currentUser.getId())
-                .stream()
-                .map(this::toDto)
-                .toList();
+    public CursorPage<RfqRequestDto> getAllRfqs(Long projectId, Long supplierId, RfqStatus status,
+                                                String cursor, Integer limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        List<RfqRequest> rfqs = rfqRepository.findPage(userService.getCurrentUserId(), projectId, supplierId, status,
+                after.createdAt(), after.id(), PageCursor.fetch(limit));
+        return PageCursor.page(rfqs, limit, r -> new PageCursor(r.getCreatedAt(), r.getId())).map(this::toDto);
     }
 
     @Transactional(readOnly = true)
@@ -43,11 +44,10 @@ public class RfqService {
 
     @Transactional
     public RfqRequestDto createRfq(RfqRequestDto dto) {
-        Project project = projectService.findProjectById(dto.getProjectId());
-
-        User currentUser = userService.getCurrentUser();
-        Supplier supplier = supplierRepository.findById(dto.getSupplierId())
-                .filter(s -> s.getUser().getId().equals(currentUser.getId()))
+        Long userId = userService.getCurrentUserId();
+        Project project = projectRepository.findByIdAndUserId(dto.getProjectId(), userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project", "id", dto.getProjectId()));
+        Supplier supplier = supplierRepository.findByIdAndUserId(dto.getSupplierId(), userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier", "id", dto.getSupplierId()));
 
         RfqRequest rfq = RfqRequest.builder()
@@ -98,9 +98,7 @@ public class RfqService {
     }
 
     public RfqRequest findRfqById(Long id) {
-        User currentUser = userService.getCurrentUser();
-        return rfqRepository.findById(id)
-                .filter(r -> r.getProject().getUser().getId().equals(currentUser.getId()))
+        return rfqRepository.findByIdAndOwnerId(id, userService.getCurrentUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("RfqRequest", "id", id));
     }
 
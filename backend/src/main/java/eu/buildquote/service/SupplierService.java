@@ -1,8 +1,8 @@
 package eu.buildquote.service;
 
+import eu.buildquote.dto.CursorPage;
 import eu.buildquote.dto.SupplierDto;
 import eu.buildquote.entity.Supplier;
-import eu.buildquote.entity.User;
 import eu.buildquote.exception.ResourceNotFoundException;
 import eu.buildquote.repository.SupplierRepository;
 import lombok.RequiredArgsConstructor;
@@ -19,12 +19,11 @@ public class SupplierService {
     private final UserService userService;
 
     @Transactional(readOnly = true)
-    public List<SupplierDto> getAllSuppliers() {
-        User currentUser = userService.getCurrentUser();
-        return supplierRepository.findByUserIdOrderByCreatedAtDesc(currentUser.getId())
-                .stream()
-                .map(this::toDto)
-                .toList();
+    public CursorPage<SupplierDto> getAllSuppliers(String cursor, Integer limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        List<Supplier> suppliers = supplierRepository.findPage(userService.getCurrentUserId(), after.createdAt(), after.id(),
+                PageCursor.fetch(limit));
+        return PageCursor.page(suppliers, limit, s -> new PageCursor(s.getCreatedAt(), s.getId())).map(this::toDto);
     }
 
     @Transactional(readOnly = true)
@@ -35,10 +34,8 @@ public class SupplierService {
 
     @Transactional
     public SupplierDto createSupplier(SupplierDto dto) {
-        User currentUser = userService.getCurrentUser();
-
         Supplier supplier = Supplier.builder()
-                .user(currentUser)
+                .user(userService.getCurrentUserReference())
                 .companyName(dto.getCompanyName())
                 .contactName(dto.getContactName())
                 .email(dto.getEmail())
@@ -73,9 +70,7 @@ public class SupplierService {
     }
 
     private Supplier findSupplierById(Long id) {
-        User currentUser = userService.getCurrentUser();
-        return supplierRepository.findById(id)
-                .filter(s -> s.getUser().getId().equals(currentUser.getId()))
+        return supplierRepository.findByIdAndUserId(id, userService.getCurrentUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier", "id", id));
     }
 
@@ -4,7 +4,9 @@ import eu.buildquote.dto.UserDto;
 import eu.buildquote.entity.User;
 import eu.buildquote.exception.ResourceNotFoundException;
 import eu.buildquote.repository.UserRepository;
+import eu.buildquote.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,9 +19,32 @@ public class UserService {
 
     @Transactional(readOnly = true)
     public User getCurrentUser() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
+        Long id = getCurrentUserId();
+        return userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+    }
+
+    /**
+     * Id of the authenticated user, for ownership checks done in the query that loads the row. Read from the
+     * principal, so it costs no query.
+     */
+    public Long getCurrentUserId() {
+        return getAuthenticatedUser().getId();
+    }
+
+    public AuthenticatedUser getAuthenticatedUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            throw new IllegalStateException("Request is not authenticated with a user token");
+        }
+        return user;
+    }
+
+    /**
+     * Uninitialized reference to the authenticated user, enough to set as the owner of a new row.
+     */
+    public User getCurrentUserReference() {
+        return userRepository.getReferenceById(getCurrentUserId());
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,182 @@
+package eu.buildquote.service.boq;
+
+import eu.buildquote.dto.boq.ParsedBoqItemDto;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes BoQ items straight to {@code boq_items}, without entities: inserts go through {@code COPY} or JDBC
+ * batches, updates and deletes through JDBC batches of {@value #BATCH_SIZE} rows. Joins the caller's
+ * transaction; the persistence context is not updated.
+ */
+@Component
+@RequiredArgsConstructor
+public class BoqItemBatchWriter {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int COPY_MIN_ROWS = 1000;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final String COLUMNS =
+            "id, boq_id, item_number, description, material_type, quantity, unit, specification, sheet_name";
+    /** Allocation size of the {@code boq_items_id_seq} generator on {@code BoqItem.id}. */
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts new items. Large sets on PostgreSQL are streamed through {@code COPY}, which skips statement
+     * parsing and per-row protocol overhead; other databases, and small sets, use batched inserts.
+     */
+    public void insert(Long boqId, List<ParsedBoqItemDto> rows) {
+        if (rows.isEmpty()) return;
+
+        List<NewItem> items = new ArrayList<>(rows.size());
+        long[] ids = allocateIds(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            items.add(new NewItem(ids[i], rows.get(i)));
+        }
+
+        if (items.size() >= COPY_MIN_ROWS && Boolean.TRUE.equals(jdbcTemplate.execute(
+                (ConnectionCallback<Boolean>) connection -> copy(connection, boqId, items)))) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO boq_items (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                items, BATCH_SIZE, (ps, item) -> {
+                    ParsedBoqItemDto row = item.row();
+                    ps.setLong(1, item.id());
+                    ps.setLong(2, boqId);
+                    ps.setString(3, row.getItemNumber());
+                    ps.setString(4, row.getDescription());
+                    ps.setString(5, row.getMaterialType());
+                    ps.setBigDecimal(6, row.getQuantity());
+                    ps.setString(7, row.getUnit());
+                    ps.setString(8, row.getSpecification());
+                    ps.setString(9, row.getSheetName());
+                });
+    }
+
+    /**
+     * Overwrites the imported fields of existing items. Notes are entered by users and left alone.
+     */
+    public void update(List<BoqRevisionDiff.Update> updates) {
+        jdbcTemplate.batchUpdate("UPDATE boq_items SET item_number = ?, description = ?, material_type = ?, "
+                        + "quantity = ?, unit = ?, specification = ?, sheet_name = ? WHERE id = ?",
+                updates, BATCH_SIZE, (ps, update) -> {
+                    ParsedBoqItemDto row = update.row();
+                    ps.setString(1, row.getItemNumber());
+                    ps.setString(2, row.getDescription());
+                    ps.setString(3, row.getMaterialType());
+                    ps.setBigDecimal(4, row.getQuantity());
+                    ps.setString(5, row.getUnit());
+                    ps.setString(6, row.getSpecification());
+                    ps.setString(7, row.getSheetName());
+                    ps.setLong(8, update.itemId());
+                });
+    }
+
+    /**
+     * Deletes items by id; their quotes go with them through the foreign key's {@code ON DELETE CASCADE}.
+     */
+    public void delete(List<Long> itemIds) {
+        jdbcTemplate.batchUpdate("DELETE FROM boq_items WHERE id = ?", itemIds, BATCH_SIZE,
+                (ps, id) -> ps.setLong(1, id));
+    }
+
+    /**
+     * Streams the items as CSV into {@code COPY ... FROM STDIN} on the transaction's connection.
+     *
+     * @return false if the connection is not a PostgreSQL one
+     */
+    private boolean copy(Connection connection, Long boqId, List<NewItem> items) throws SQLException {
+        if (!connection.isWrapperFor(PGConnection.class)) {
+            return false;
+        }
+
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY boq_items (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)");
+        try {
+            StringBuilder buffer = new StringBuilder(COPY_BUFFER_SIZE + 4096);
+            for (NewItem item : items) {
+                ParsedBoqItemDto row = item.row();
+                buffer.append(item.id()).append(',').append(boqId);
+                appendCsv(buffer, row.getItemNumber());
+                appendCsv(buffer, row.getDescription());
+                appendCsv(buffer, row.getMaterialType());
+                buffer.append(',');
+                if (row.getQuantity() != null) {
+                    buffer.append(row.getQuantity().toPlainString());
+                }
+                appendCsv(buffer, row.getUnit());
+                appendCsv(buffer, row.getSpecification());
+                appendCsv(buffer, row.getSheetName());
+                buffer.append('\n');
+                if (buffer.length() >= COPY_BUFFER_SIZE) {
+                    writeToCopy(copyIn, buffer);
+                }
+            }
+            writeToCopy(copyIn, buffer);
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+        return true;
+    }
+
+    private static void writeToCopy(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    /**
+     * Appends a quoted CSV field; {@code null} stays an unquoted empty field, which COPY reads as NULL.
+     */
+    private static void appendCsv(StringBuilder buffer, String value) {
+        buffer.append(',');
+        if (value == null) return;
+
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') buffer.append('"');
+            buffer.append(c);
+        }
+        buffer.append('"');
+    }
+
+    /**
+     * Reserves ids the way Hibernate's pooled optimizer does: each sequence value covers the
+     * {@value #ID_BLOCK_SIZE} ids up to and including it, so both can draw from the sequence side by side.
+     */
+    private long[] allocateIds(int count) {
+        long[] ids = new long[count];
+        int allocated = 0;
+        while (allocated < count) {
+            int blocks = (count - allocated + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE;
+            for (Long high : jdbcTemplate.queryForList(
+                    "SELECT nextval('boq_items_id_seq') FROM generate_series(1, ?)", Long.class, blocks)) {
+                // The first value of a fresh sequence has no full block below it.
+                if (high < ID_BLOCK_SIZE) continue;
+                for (long id = high - ID_BLOCK_SIZE + 1; id <= high && allocated < count; id++) {
+                    ids[allocated++] = id;
+                }
+            }
+        }
+        return ids;
+    }
+
+    private record NewItem(long id, ParsedBoqItemDto row) {}
+}
@@ -0,0 +1,206 @@
+package eu.buildquote.service.boq;
+
+import eu.buildquote.dto.boq.ParsedBoqItemDto;
+import eu.buildquote.entity.BoqItem;
+import org.apache.commons.text.similarity.LevenshteinDistance;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Pairs the rows of a revised BoQ with the items already saved for it. A row first matches an item of the
+ * same sheet with the same item number whose description is still similar enough; rows left over fall back
+ * to an item of the same sheet with the same description, which catches renumbered items. Rows still
+ * unmatched then get the same two passes against items of other sheets, but only where the sheets cannot be
+ * told apart: either side has no sheet (CSV files, items saved before sheets were recorded) or its sheet is
+ * missing from the other side (a renamed sheet). Matched items whose fields changed become updates,
+ * unmatched rows inserts and unmatched items deletes. A row that failed to parse leaves its matched item as
+ * it is.
+ */
+public final class BoqRevisionDiff {
+
+    static final double MIN_DESCRIPTION_SIMILARITY = 0.6;
+
+    public record Update(Long itemId, ParsedBoqItemDto row) {}
+
+    private final List<ParsedBoqItemDto> inserts = new ArrayList<>();
+    private final List<Update> updates = new ArrayList<>();
+    private final List<Long> deletes = new ArrayList<>();
+    private int unchanged;
+
+    private BoqRevisionDiff() {
+    }
+
+    public static BoqRevisionDiff compute(List<BoqItem> items, List<ParsedBoqItemDto> rows) {
+        Map<String, List<Existing>> byNumber = new HashMap<>();
+        Map<String, List<Existing>> byDescription = new HashMap<>();
+        Map<String, List<Existing>> byNumberAnySheet = new HashMap<>();
+        Map<String, List<Existing>> byDescriptionAnySheet = new HashMap<>();
+        Set<String> savedSheets = new HashSet<>();
+        List<Existing> existing = new ArrayList<>(items.size());
+        for (BoqItem item : items) {
+            Existing entry = new Existing(item, HeaderMatcher.normalize(item.getDescription()));
+            existing.add(entry);
+            if (!isBlank(item.getItemNumber())) {
+                String number = HeaderMatcher.normalize(item.getItemNumber());
+                byNumber.computeIfAbsent(sheetKey(item.getSheetName()) + number, k -> new ArrayList<>()).add(entry);
+                byNumberAnySheet.computeIfAbsent(number, k -> new ArrayList<>()).add(entry);
+            }
+            byDescription.computeIfAbsent(sheetKey(item.getSheetName()) + entry.description, k -> new ArrayList<>()).add(entry);
+            byDescriptionAnySheet.computeIfAbsent(entry.description, k -> new ArrayList<>()).add(entry);
+            if (item.getSheetName() != null) savedSheets.add(item.getSheetName());
+        }
+        Set<String> revisedSheets = new HashSet<>();
+        for (ParsedBoqItemDto row : rows) {
+            if (row.getSheetName() != null) revisedSheets.add(row.getSheetName());
+        }
+        BiPredicate<String, String> sameSheet = Objects::equals;
+        BiPredicate<String, String> indistinctSheets = (rowSheet, itemSheet) -> rowSheet == null || itemSheet == null
+                || Objects.equals(rowSheet, itemSheet)
+                || !savedSheets.contains(rowSheet) || !revisedSheets.contains(itemSheet);
+
+        Existing[] matches = new Existing[rows.size()];
+        matchByNumber(rows, matches, row -> sheetKey(row.getSheetName()) + HeaderMatcher.normalize(row.getItemNumber()),
+                byNumber, sameSheet);
+        matchByDescription(rows, matches, row -> sheetKey(row.getSheetName()) + HeaderMatcher.normalize(row.getDescription()),
+                byDescription, sameSheet);
+        matchByNumber(rows, matches, row -> HeaderMatcher.normalize(row.getItemNumber()),
+                byNumberAnySheet, indistinctSheets);
+        matchByDescription(rows, matches, row -> HeaderMatcher.normalize(row.getDescription()),
+                byDescriptionAnySheet, indistinctSheets);
+
+        BoqRevisionDiff diff = new BoqRevisionDiff();
+        for (int i = 0; i < rows.size(); i++) {
+            ParsedBoqItemDto row = rows.get(i);
+            boolean valid = !row.isHasParsingErrors() && !isBlank(row.getDescription());
+            if (matches[i] == null) {
+                if (valid) diff.inserts.add(row);
+            } else if (valid && changed(matches[i].item, row)) {
+                diff.updates.add(new Update(matches[i].item.getId(), row));
+            } else {
+                diff.unchanged++;
+            }
+        }
+        for (Existing entry : existing) {
+            if (!entry.matched) {
+                diff.deletes.add(entry.item.getId());
+            }
+        }
+        return diff;
+    }
+
+    /** Pairs rows with an item of the same item number whose description is similar enough. */
+    private static void matchByNumber(List<ParsedBoqItemDto> rows, Existing[] matches,
+                                      Function<ParsedBoqItemDto, String> key, Map<String, List<Existing>> index,
+                                      BiPredicate<String, String> sheets) {
+        for (int i = 0; i < rows.size(); i++) {
+            ParsedBoqItemDto row = rows.get(i);
+            if (matches[i] != null || isBlank(row.getItemNumber())) continue;
+
+            String description = HeaderMatcher.normalize(row.getDescription());
+            Existing best = null;
+            double bestSimilarity = MIN_DESCRIPTION_SIMILARITY;
+            for (Existing candidate : index.getOrDefault(key.apply(row), List.of())) {
+                if (candidate.matched || !sheets.test(row.getSheetName(), candidate.item.getSheetName())) continue;
+                double similarity = similarity(description, candidate.description);
+                if (similarity >= bestSimilarity) {
+                    best = candidate;
+                    bestSimilarity = similarity;
+                    if (similarity == 1.0) break;
+                }
+            }
+            if (best != null) {
+                best.matched = true;
+                matches[i] = best;
+            }
+        }
+    }
+
+    /** Pairs rows with the first unmatched item of the same description. */
+    private static void matchByDescription(List<ParsedBoqItemDto> rows, Existing[] matches,
+                                           Function<ParsedBoqItemDto, String> key,
+                                           Map<String, List<Existing>> index, BiPredicate<String, String> sheets) {
+        for (int i = 0; i < rows.size(); i++) {
+            if (matches[i] != null) continue;
+
+            ParsedBoqItemDto row = rows.get(i);
+            for (Existing candidate : index.getOrDefault(key.apply(row), List.of())) {
+                if (!candidate.matched && sheets.test(row.getSheetName(), candidate.item.getSheetName())) {
+                    candidate.matched = true;
+                    matches[i] = candidate;
+                    break;
+                }
+            }
+        }
+    }
+
+    public List<ParsedBoqItemDto> inserts() {
+        return inserts;
+    }
+
+    public List<Update> updates() {
+        return updates;
+    }
+
+    public List<Long> deletes() {
+        return deletes;
+    }
+
+    public int unchanged() {
+        return unchanged;
+    }
+
+    static double similarity(String a, String b) {
+        if (a.equals(b)) return 1.0;
+
+        int maxLen = Math.max(a.length(), b.length());
+        int threshold = (int) Math.floor(maxLen * (1 - MIN_DESCRIPTION_SIMILARITY));
+        if (Math.abs(a.length() - b.length()) > threshold) {
+            return 0.0;
+        }
+
+        int distance = new LevenshteinDistance(threshold).apply(a, b);
+        return distance < 0 ? 0.0 : 1.0 - ((double) distance / maxLen);
+    }
+
+    private static boolean changed(BoqItem item, ParsedBoqItemDto row) {
+        return !Objects.equals(item.getItemNumber(), row.getItemNumber())
+                || !Objects.equals(item.getDescription(), row.getDescription())
+                || !sameQuantity(item.getQuantity(), row.getQuantity())
+                || !Objects.equals(item.getUnit(), row.getUnit())
+                || !Objects.equals(item.getMaterialType(), row.getMaterialType())
+                || !Objects.equals(item.getSpecification(), row.getSpecification())
+                || !Objects.equals(item.getSheetName(), row.getSheetName());
+    }
+
+    private static boolean sameQuantity(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+
+    private static String sheetKey(String sheetName) {
+        return (sheetName == null ? "" : sheetName) + '\u0000';
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static final class Existing {
+        private final BoqItem item;
+        private final String description;
+        private boolean matched;
+
+        private Existing(BoqItem item, String description) {
+            this.item = item;
+            this.description = description;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package eu.buildquote.service.boq;
+
+import java.util.BitSet;
+import java.util.List;
+
+public interface BoqRowHandler {
+
+    void header(List<String> headers);
+
+    /**
+     * Columns read by {@link #row}, consulted once after {@link #header}. Readers may pass an empty
+     * string for any other column. {@code null} means every column is needed.
+     */
+    default BitSet columns() {
+        return null;
+    }
+
+    /**
+     * @return {@code false} to stop reading further rows
+     */
+    boolean row(int rowNumber, List<String> cells);
+}
@@ -0,0 +1,85 @@
+package eu.buildquote.service.boq;
+
+import eu.buildquote.dto.boq.ColumnMappingDto;
+import eu.buildquote.dto.boq.ParsedBoqItemDto;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maps BoQ rows to items through a column index per target field, resolved once from the column mappings.
+ */
+public final class BoqRowMapper {
+
+    private static final List<String> FIELDS = List.of(
+            "item_number", "description", "quantity", "unit", "material_type", "specification");
+
+    private static final int ITEM_NUMBER = 0;
+    private static final int DESCRIPTION = 1;
+    private static final int QUANTITY = 2;
+    private static final int UNIT = 3;
+    private static final int MATERIAL_TYPE = 4;
+    private static final int SPECIFICATION = 5;
+
+    private final int[] columns;
+
+    private BoqRowMapper(int[] columns) {
+        this.columns = columns;
+    }
+
+    public static BoqRowMapper of(List<ColumnMappingDto> mappings) {
+        int[] columns = new int[FIELDS.size()];
+        Arrays.fill(columns, -1);
+        for (ColumnMappingDto mapping : mappings) {
+            int field = FIELDS.indexOf(mapping.getTargetField());
+            if (field >= 0) {
+                columns[field] = mapping.getColumnIndex();
+            }
+        }
+        return new BoqRowMapper(columns);
+    }
+
+    public ParsedBoqItemDto map(int rowNumber, List<String> cells) {
+        String quantityText = cell(cells, QUANTITY);
+        BigDecimal quantity;
+        boolean hasError = false;
+        String errorMsg = null;
+
+        try {
+            quantity = quantityText != null ? QuantityLexer.parse(quantityText) : BigDecimal.ZERO;
+        } catch (NumberFormatException e) {
+            quantity = BigDecimal.ZERO;
+            hasError = true;
+            errorMsg = "Invalid quantity: " + quantityText;
+        }
+
+        String description = cell(cells, DESCRIPTION);
+        if (description == null) {
+            description = "";
+        }
+        if (description.isBlank() && !hasError) {
+            hasError = true;
+            errorMsg = "Missing description";
+        }
+
+        String unit = cell(cells, UNIT);
+
+        return ParsedBoqItemDto.builder()
+                .rowNumber(rowNumber)
+                .itemNumber(cell(cells, ITEM_NUMBER))
+                .description(description)
+                .quantity(quantity)
+                .unit(unit != null ? unit : "")
+                .materialType(cell(cells, MATERIAL_TYPE))
+                .specification(cell(cells, SPECIFICATION))
+                .hasParsingErrors(hasError)
+                .errorMessage(errorMsg)
+                .build();
+    }
+
+    private String cell(List<String> cells, int field) {
+        int column = columns[field];
+        return column >= 0 && column < cells.size() ? cells.get(column) : null;
+    }
+}
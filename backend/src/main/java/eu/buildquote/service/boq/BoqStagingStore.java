@@ -0,0 +1,73 @@
+package eu.buildquote.service.boq;
+
+import eu.buildquote.config.BoqConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BoqStagingStore {
+
+    private final BoqConfig boqConfig;
+    private final Map<Long, StagedUpload> uploads = new ConcurrentHashMap<>();
+
+    public void stage(Long boqId, Path file, String extension) {
+        StagedUpload previous = uploads.put(boqId,
+                new StagedUpload(file, extension, Instant.now().plus(boqConfig.getStagingTtl())));
+        if (previous != null) {
+            discardQuietly(previous);
+        }
+    }
+
+    public Optional<StagedUpload> find(Long boqId) {
+        StagedUpload upload = uploads.get(boqId);
+        if (upload == null) return Optional.empty();
+
+        if (upload.isExpired(Instant.now())) {
+            remove(boqId);
+            return Optional.empty();
+        }
+        return Optional.of(upload);
+    }
+
+    public void remove(Long boqId) {
+        StagedUpload upload = uploads.remove(boqId);
+        if (upload != null) {
+            discardQuietly(upload);
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        Instant now = Instant.now();
+        uploads.forEach((boqId, upload) -> {
+            if (upload.isExpired(now) && uploads.remove(boqId, upload)) {
+                discardQuietly(upload);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void clear() {
+        uploads.keySet().forEach(this::remove);
+    }
+
+    private void discardQuietly(StagedUpload upload) {
+        try {
+            upload.discard();
+        } catch (IOException e) {
+            log.warn("Could not delete staged upload: {}", upload.file(), e);
+        }
+    }
+}
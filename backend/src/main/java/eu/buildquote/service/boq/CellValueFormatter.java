@@ -0,0 +1,23 @@
+package eu.buildquote.service.boq;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+
+final class CellValueFormatter {
+
+    private CellValueFormatter() {
+    }
+
+    static String numeric(double value, int formatIndex, String formatString, boolean date1904) {
+        if (DateUtil.isValidExcelDate(value) && DateUtil.isADateFormat(formatIndex, formatString)) {
+            return DateUtil.getLocalDateTime(value, date1904).toString();
+        }
+        if (value == Math.floor(value)) {
+            return String.valueOf((long) value);
+        }
+        return String.valueOf(value);
+    }
+
+    static String formulaResult(double value) {
+        return String.valueOf(value);
+    }
+}
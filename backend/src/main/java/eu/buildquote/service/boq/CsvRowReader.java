@@ -0,0 +1,177 @@
+package eu.buildquote.service.boq;
+
+import eu.buildquote.config.BoqConfig;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+@Component
+public class CsvRowReader {
+
+    private static final CSVFormat HEADER_FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setTrim(true)
+            .build();
+
+    static final long PARALLEL_THRESHOLD_BYTES = 2L * 1024 * 1024;
+    static final int CHUNK_SIZE_BYTES = 512 * 1024;
+
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    private static final int QUOTE_IN_QUOTED = 3;
+
+    private final int parallelism;
+    private final ForkJoinPool pool;
+
+    public CsvRowReader(BoqConfig boqConfig) {
+        this.parallelism = Math.max(1, boqConfig.getParseParallelism());
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    public void read(Path file, BoqRowHandler handler) throws IOException {
+        MappedByteBuffer buffer = map(file);
+
+        CsvTokenizer tokenizer = new CsvTokenizer(buffer, 0, buffer.limit());
+        tokenizer.next(null);
+        int headerEnd = tokenizer.position();
+        try (CSVParser headerParser = CSVParser.parse(decode(buffer, 0, headerEnd), HEADER_FORMAT)) {
+            handler.header(headerParser.getHeaderNames());
+        }
+        BitSet columns = handler.columns();
+
+        if (parallelism > 1 && buffer.limit() - headerEnd >= PARALLEL_THRESHOLD_BYTES) {
+            List<Integer> boundaries = findChunkBoundaries(buffer, headerEnd);
+            if (boundaries.size() > 2) {
+                readChunked(buffer, boundaries, columns, handler);
+                return;
+            }
+        }
+
+        int rowNum = 2;
+        List<String> cells;
+        while ((cells = tokenizer.next(columns)) != null) {
+            if (!handler.row(rowNum, cells)) {
+                return;
+            }
+            rowNum++;
+        }
+    }
+
+    private MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("CSV file is too large");
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private void readChunked(MappedByteBuffer buffer, List<Integer> boundaries, BitSet columns,
+                             BoqRowHandler handler) throws IOException {
+        Deque<ForkJoinTask<List<List<String>>>> pending = new ArrayDeque<>();
+        int nextChunk = 0;
+        int chunkCount = boundaries.size() - 1;
+        int rowNum = 2;
+
+        try {
+            while (nextChunk < chunkCount || !pending.isEmpty()) {
+                while (nextChunk < chunkCount && pending.size() < parallelism * 2) {
+                    int start = boundaries.get(nextChunk);
+                    int end = boundaries.get(nextChunk + 1);
+                    pending.add(pool.submit(() -> parseChunk(buffer, start, end, columns)));
+                    nextChunk++;
+                }
+
+                for (List<String> cells : pending.poll().join()) {
+                    if (!handler.row(rowNum, cells)) {
+                        return;
+                    }
+                    rowNum++;
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pending.forEach(task -> task.cancel(true));
+        }
+    }
+
+    private List<Integer> findChunkBoundaries(MappedByteBuffer buffer, int start) {
+        List<Integer> boundaries = new ArrayList<>();
+        boundaries.add(start);
+        int limit = buffer.limit();
+        int nextTarget = start + CHUNK_SIZE_BYTES;
+        int state = FIELD_START;
+
+        for (int i = start; i < limit; i++) {
+            byte b = buffer.get(i);
+
+            if (state == QUOTED) {
+                if (b == '"') state = QUOTE_IN_QUOTED;
+                continue;
+            }
+            if (state == QUOTE_IN_QUOTED && b == '"') {
+                state = QUOTED;
+                continue;
+            }
+
+            if (b == '\n') {
+                state = FIELD_START;
+                if (i + 1 >= nextTarget && i + 1 < limit) {
+                    boundaries.add(i + 1);
+                    nextTarget = i + 1 + CHUNK_SIZE_BYTES;
+                }
+            } else if (b == ',') {
+                state = FIELD_START;
+            } else if (b == '"' && state == FIELD_START) {
+                state = QUOTED;
+            } else if (b != '\r') {
+                state = UNQUOTED;
+            }
+        }
+
+        boundaries.add(limit);
+        return boundaries;
+    }
+
+    private List<List<String>> parseChunk(MappedByteBuffer buffer, int start, int end, BitSet columns) {
+        List<List<String>> rows = new ArrayList<>();
+        CsvTokenizer tokenizer = new CsvTokenizer(buffer, start, end);
+        try {
+            List<String> cells;
+            while ((cells = tokenizer.next(columns)) != null) {
+                rows.add(cells);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+
+    private String decode(MappedByteBuffer buffer, int start, int end) {
+        return StandardCharsets.UTF_8.decode(buffer.slice(start, end - start)).toString();
+    }
+}
@@ -0,0 +1,172 @@
+package eu.buildquote.service.boq;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 records straight from UTF-8 bytes, following the rules of {@code CSVFormat.DEFAULT}
+ * with trimming. Only requested columns are decoded into strings.
+ */
+final class CsvTokenizer {
+
+    private static final byte QUOTE = '"';
+    private static final byte DELIMITER = ',';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+
+    private final ByteBuffer buffer;
+    private final int limit;
+    private int position;
+    private byte[] scratch = new byte[256];
+
+    CsvTokenizer(ByteBuffer buffer, int start, int end) {
+        this.buffer = buffer;
+        this.position = start;
+        this.limit = end;
+    }
+
+    int position() {
+        return position;
+    }
+
+    /**
+     * @return the next record, or {@code null} at the end of the range
+     */
+    List<String> next(BitSet columns) throws IOException {
+        while (position < limit && isLineBreak(buffer.get(position))) {
+            position++;
+        }
+        if (position >= limit) return null;
+
+        List<String> cells = new ArrayList<>();
+        for (int column = 0; ; column++) {
+            boolean needed = columns == null || columns.get(column);
+            if (position < limit && buffer.get(position) == QUOTE) {
+                position++;
+                cells.add(readQuoted(needed));
+            } else {
+                cells.add(readUnquoted(needed));
+            }
+
+            if (position >= limit) return cells;
+            byte b = buffer.get(position++);
+            if (b == DELIMITER) continue;
+            if (b == CR && position < limit && buffer.get(position) == LF) {
+                position++;
+            }
+            return cells;
+        }
+    }
+
+    private String readUnquoted(boolean needed) {
+        int start = position;
+        while (position < limit) {
+            byte b = buffer.get(position);
+            if (b == DELIMITER || isLineBreak(b)) break;
+            position++;
+        }
+        return needed ? decode(start, position) : "";
+    }
+
+    private String readQuoted(boolean needed) throws IOException {
+        int start = position;
+        int length = 0;
+        boolean escaped = false;
+
+        while (true) {
+            if (position >= limit) {
+                throw new IOException("EOF reached before encapsulated token finished");
+            }
+            byte b = buffer.get(position++);
+            if (b == QUOTE) {
+                if (position < limit && buffer.get(position) == QUOTE) {
+                    if (needed) {
+                        if (!escaped) {
+                            escaped = true;
+                            length = copyToScratch(start, position - 1, 0);
+                        }
+                        length = appendToScratch(QUOTE, length);
+                    }
+                    position++;
+                    continue;
+                }
+                break;
+            }
+            if (escaped) {
+                length = appendToScratch(b, length);
+            }
+        }
+
+        int end = position - 1;
+        skipToFieldEnd();
+
+        if (!needed) return "";
+        return escaped ? decodeScratch(length) : decode(start, end);
+    }
+
+    private void skipToFieldEnd() throws IOException {
+        while (position < limit) {
+            byte b = buffer.get(position);
+            if (b == DELIMITER || isLineBreak(b)) return;
+            if (!isWhitespace(b)) {
+                throw new IOException("Invalid char between encapsulated token and delimiter");
+            }
+            position++;
+        }
+    }
+
+    private String decode(int start, int end) {
+        while (start < end && isTrimmable(buffer.get(start))) start++;
+        while (end > start && isTrimmable(buffer.get(end - 1))) end--;
+        if (start == end) return "";
+
+        int length = end - start;
+        ensureScratch(length);
+        buffer.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private String decodeScratch(int length) {
+        int start = 0;
+        while (start < length && isTrimmable(scratch[start])) start++;
+        while (length > start && isTrimmable(scratch[length - 1])) length--;
+        return new String(scratch, start, length - start, StandardCharsets.UTF_8);
+    }
+
+    private int copyToScratch(int start, int end, int offset) {
+        int length = end - start;
+        ensureScratch(offset + length);
+        buffer.get(start, scratch, offset, length);
+        return offset + length;
+    }
+
+    private int appendToScratch(byte b, int length) {
+        ensureScratch(length + 1);
+        scratch[length] = b;
+        return length + 1;
+    }
+
+    private void ensureScratch(int capacity) {
+        if (scratch.length < capacity) {
+            byte[] grown = new byte[Math.max(capacity, scratch.length * 2)];
+            System.arraycopy(scratch, 0, grown, 0, scratch.length);
+            scratch = grown;
+        }
+    }
+
+    private static boolean isLineBreak(byte b) {
+        return b == LF || b == CR;
+    }
+
+    private static boolean isTrimmable(byte b) {
+        return b >= 0 && b <= ' ';
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == 0x0B || b == '\f' || (b >= 0x1C && b <= 0x1F);
+    }
+}
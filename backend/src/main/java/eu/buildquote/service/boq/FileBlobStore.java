@@ -0,0 +1,172 @@
+package eu.buildquote.service.boq;
+
+import eu.buildquote.config.BoqConfig;
+import eu.buildquote.entity.FileBlob;
+import eu.buildquote.repository.FileBlobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps gzip-compressed originals of uploaded files in {@code boq.blob-directory}, named by the SHA-256 of
+ * their content. The directory is shared by all nodes, so a file stored by one can be restored by any other.
+ * Each {@code BillOfQuantities} or queued {@code ImportJob} pointing at a blob holds one reference; blobs
+ * nobody references any more are deleted once {@code boq.blob-retention} has passed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FileBlobStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileBlobRepository repository;
+    private final BoqConfig boqConfig;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Boolean postgres;
+
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public String hash(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Adds a reference to the blob of {@code file}, then writes the blob unless it is already on disk. The
+     * reference is taken first so the blob cannot be swept between the two. Joins the caller's transaction,
+     * and must be called in one.
+     */
+    public void retain(String sha256, Path file) {
+        try {
+            if (isPostgres()) {
+                // Concurrent first uploads of one file would both insert and one would fail on the key
+                jdbcTemplate.update("INSERT INTO file_blobs (sha256, size, stored_size, ref_count, created_at) "
+                        + "VALUES (?, ?, 0, 1, CURRENT_TIMESTAMP) ON CONFLICT (sha256) "
+                        + "DO UPDATE SET ref_count = file_blobs.ref_count + 1, released_at = NULL",
+                        sha256, Files.size(file));
+            } else if (repository.retain(sha256) == 0) {
+                repository.save(FileBlob.builder()
+                        .sha256(sha256)
+                        .size(Files.size(file))
+                        .storedSize(0L)
+                        .refCount(1)
+                        .build());
+            }
+            repository.updateStoredSize(sha256, write(sha256, file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store blob " + sha256, e);
+        }
+    }
+
+    /**
+     * Writes the compressed copy of {@code file} unless a blob with this hash is already on disk.
+     *
+     * @return the size of the stored blob
+     */
+    private long write(String sha256, Path file) throws IOException {
+        Path blob = blobPath(sha256);
+        if (Files.exists(blob)) {
+            return Files.size(blob);
+        }
+
+        Files.createDirectories(blob.getParent());
+        Path temp = Files.createTempFile(blob.getParent(), sha256, ".tmp");
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp), BUFFER_SIZE)) {
+                Files.copy(file, out);
+            }
+            Files.move(temp, blob, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return Files.size(blob);
+    }
+
+    public void release(String sha256) {
+        repository.release(sha256, LocalDateTime.now());
+    }
+
+    /**
+     * Decompresses the blob into a new temporary file, which the caller must delete.
+     */
+    public Optional<Path> restore(String sha256, String extension) throws IOException {
+        Path blob = blobPath(sha256);
+        if (!Files.exists(blob)) {
+            return Optional.empty();
+        }
+
+        Path file = Files.createTempFile("boq-blob-", "." + extension);
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(blob), BUFFER_SIZE)) {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return Optional.of(file);
+    }
+
+    @Scheduled(fixedDelay = 3_600_000)
+    public void deleteUnreferenced() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(boqConfig.getBlobRetention());
+        for (FileBlob blob : repository.findByRefCountAndReleasedAtBefore(0, cutoff)) {
+            // The file goes while the deleted row is still locked, so a concurrent retain waits for it and
+            // then writes the blob again
+            transactionTemplate.executeWithoutResult(status -> {
+                if (repository.deleteUnreferenced(blob.getSha256()) == 0) return;
+                try {
+                    Files.deleteIfExists(blobPath(blob.getSha256()));
+                } catch (IOException e) {
+                    log.warn("Could not delete blob {}", blob.getSha256(), e);
+                }
+            });
+        }
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute(
+                    (ConnectionCallback<Boolean>) connection -> connection.isWrapperFor(PGConnection.class));
+        }
+        return postgres;
+    }
+
+    private Path blobPath(String sha256) {
+        return boqConfig.getBlobDirectory().resolve(sha256.substring(0, 2)).resolve(sha256 + ".gz");
+    }
+}
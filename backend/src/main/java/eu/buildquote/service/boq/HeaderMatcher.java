@@ -0,0 +1,175 @@
+package eu.buildquote.service.boq;
+
+import eu.buildquote.dto.boq.ColumnMappingDto;
+import org.apache.commons.text.similarity.LevenshteinDistance;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Matches BoQ headers against known column aliases. Aliases are normalized and diacritic-folded once and
+ * exact matches come from a hash lookup. Every alias still goes through the fuzzy check: at the low
+ * {@value #MIN_CONFIDENCE} cut-off a misspelt header can share no n-gram with its alias ("qnty", "qty"), so
+ * there is no index that could safely skip any. The check is cheap for the few dozen aliases: length
+ * differences are ruled out first, and the edit distance stops at the cut-off.
+ */
+@Component
+public class HeaderMatcher {
+
+    private static final List<String> FIELDS = List.of(
+            "item_number", "description", "quantity", "unit", "material_type", "specification");
+
+    private static final Map<String, List<String>> COLUMN_ALIASES = Map.of(
+            "item_number", List.of("nr", "jrk", "item", "#", "number", "no", "item no", "item number", "jrk nr"),
+            "description", List.of("kirjeldus", "description", "nimetus", "töö kirjeldus", "desc", "work description", "item description"),
+            "quantity", List.of("kogus", "quantity", "maht", "amount", "qty", "hulk", "kogused"),
+            "unit", List.of("ühik", "unit", "mõõtühik", "uom", "unit of measure"),
+            "material_type", List.of("materjal", "material", "tüüp", "type", "material type", "materjali tüüp"),
+            "specification", List.of("spetsifikatsioon", "spec", "märkused", "notes", "specification", "specs", "lisainfo")
+    );
+
+    private static final double MIN_CONFIDENCE = 0.3;
+    private static final double ALTERNATIVE_CONFIDENCE = 0.5;
+    private static final double WORD_MATCH_CONFIDENCE = 0.9;
+
+    private final Map<String, Alias> exactIndex = new HashMap<>();
+    private final List<Alias> aliases = new ArrayList<>();
+
+    public HeaderMatcher() {
+        for (String field : FIELDS) {
+            for (String alias : COLUMN_ALIASES.get(field)) {
+                String text = normalize(alias);
+                Alias entry = new Alias(FIELDS.indexOf(field), text, " " + text + " ");
+                exactIndex.putIfAbsent(text, entry);
+                aliases.add(entry);
+            }
+        }
+    }
+
+    public List<ColumnMappingDto> match(List<String> headers) {
+        List<Candidate> candidates = new ArrayList<>();
+        for (int column = 0; column < headers.size(); column++) {
+            String header = normalize(headers.get(column));
+            if (header.isEmpty()) continue;
+
+            double[] best = bestConfidenceByField(header);
+            for (int field = 0; field < best.length; field++) {
+                if (best[field] > MIN_CONFIDENCE) {
+                    candidates.add(new Candidate(field, column, best[field]));
+                }
+            }
+        }
+
+        candidates.sort(Comparator.comparingDouble(Candidate::confidence).reversed()
+                .thenComparingInt(Candidate::field)
+                .thenComparingInt(Candidate::column));
+
+        Candidate[] chosen = new Candidate[FIELDS.size()];
+        Set<Integer> usedColumns = new HashSet<>();
+        for (Candidate candidate : candidates) {
+            if (chosen[candidate.field()] == null && !usedColumns.contains(candidate.column())) {
+                chosen[candidate.field()] = candidate;
+                usedColumns.add(candidate.column());
+            }
+        }
+
+        List<ColumnMappingDto> mappings = new ArrayList<>();
+        for (int field = 0; field < chosen.length; field++) {
+            Candidate mapping = chosen[field];
+            if (mapping == null) continue;
+
+            Set<String> alternatives = new LinkedHashSet<>();
+            for (Candidate candidate : candidates) {
+                if (candidate.field() == field && candidate.column() != mapping.column()
+                        && candidate.confidence() > ALTERNATIVE_CONFIDENCE && alternatives.size() < 3) {
+                    alternatives.add(headers.get(candidate.column()));
+                }
+            }
+
+            mappings.add(ColumnMappingDto.builder()
+                    .targetField(FIELDS.get(field))
+                    .detectedHeader(headers.get(mapping.column()))
+                    .columnIndex(mapping.column())
+                    .confidence(mapping.confidence())
+                    .alternativeHeaders(List.copyOf(alternatives))
+                    .build());
+        }
+        return mappings;
+    }
+
+    private double[] bestConfidenceByField(String header) {
+        double[] best = new double[FIELDS.size()];
+
+        Alias exact = exactIndex.get(header);
+        if (exact != null) {
+            best[exact.field()] = 1.0;
+        }
+
+        String paddedHeader = " " + header + " ";
+        for (Alias alias : aliases) {
+            if (best[alias.field()] >= 1.0) continue;
+            double confidence = confidence(header, paddedHeader, alias);
+            if (confidence > best[alias.field()]) {
+                best[alias.field()] = confidence;
+            }
+        }
+        return best;
+    }
+
+    private double confidence(String header, String paddedHeader, Alias alias) {
+        if (header.equals(alias.text())) {
+            return 1.0;
+        }
+        if (paddedHeader.contains(alias.padded()) || alias.padded().contains(paddedHeader)) {
+            return WORD_MATCH_CONFIDENCE;
+        }
+
+        int maxLen = Math.max(header.length(), alias.text().length());
+        int threshold = (int) Math.ceil(maxLen * (1 - MIN_CONFIDENCE)) - 1;
+        if (threshold < 0 || Math.abs(header.length() - alias.text().length()) > threshold) {
+            return 0.0;
+        }
+
+        int distance = new LevenshteinDistance(threshold).apply(header, alias.text());
+        return distance < 0 ? 0.0 : 1.0 - ((double) distance / maxLen);
+    }
+
+    /**
+     * Lower-cases, strips diacritics and collapses everything but letters, digits and {@code #} into single spaces.
+     */
+    static String normalize(String value) {
+        if (value == null) return "";
+
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) continue;
+
+            if (Character.isLetterOrDigit(c) || c == '#') {
+                if (pendingSpace && !normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                pendingSpace = false;
+                normalized.append(Character.toLowerCase(c));
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private record Alias(int field, String text, String padded) {}
+
+    private record Candidate(int field, int column, double confidence) {}
+}
@@ -0,0 +1,33 @@
+package eu.buildquote.service.boq;
+
+import eu.buildquote.dto.boq.ColumnMappingDto;
+import eu.buildquote.enums.ImportJobStatus;
+
+import java.util.List;
+
+/**
+ * Receives parse and save events of one import. Sheets of a workbook are parsed concurrently, but calls are
+ * never made from two threads at once.
+ */
+public interface ImportProgress {
+
+    ImportProgress NONE = new ImportProgress() {};
+
+    default void phase(ImportJobStatus status) {
+    }
+
+    default void mappingsDetected(String sheetName, List<ColumnMappingDto> columnMappings, double confidence) {
+    }
+
+    default void rowsParsed(int rows, int warnings) {
+    }
+
+    default void rowWarning(String sheetName, int rowNumber, String errorType, String message) {
+    }
+
+    /**
+     * Called inside the transaction that saves the BoQ, so implementations can record it atomically.
+     */
+    default void persisted(Long boqId) {
+    }
+}
@@ -0,0 +1,80 @@
+package eu.buildquote.service.boq;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.buildquote.entity.LearnedColumnMapping;
+import eu.buildquote.entity.User;
+import eu.buildquote.repository.LearnedColumnMappingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Remembers the column mappings a user confirmed for a header layout, keyed by a hash of the
+ * normalized headers in column order.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LearnedMappingStore {
+
+    private static final TypeReference<Map<String, Integer>> MAPPINGS_TYPE = new TypeReference<>() {};
+
+    private final LearnedColumnMappingRepository repository;
+    private final ObjectMapper objectMapper;
+
+    public Optional<Map<String, Integer>> find(Long userId, List<String> headers) {
+        if (headers.isEmpty()) return Optional.empty();
+
+        return repository.findByUserIdAndHeaderSignature(userId, signature(headers))
+                .flatMap(learned -> {
+                    try {
+                        return Optional.of(objectMapper.readValue(learned.getColumnMappings(), MAPPINGS_TYPE));
+                    } catch (JsonProcessingException e) {
+                        log.warn("Ignoring unreadable learned column mappings {}", learned.getId(), e);
+                        return Optional.empty();
+                    }
+                });
+    }
+
+    public void remember(User user, List<String> headers, Map<String, Integer> columnMappings) {
+        if (headers.isEmpty() || columnMappings.isEmpty()) return;
+
+        String signature = signature(headers);
+        LearnedColumnMapping learned = repository.findByUserIdAndHeaderSignature(user.getId(), signature)
+                .orElseGet(() -> LearnedColumnMapping.builder()
+                        .user(user)
+                        .headerSignature(signature)
+                        .build());
+
+        try {
+            learned.setColumnMappings(objectMapper.writeValueAsString(columnMappings));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize column mappings", e);
+        }
+        repository.save(learned);
+    }
+
+    private String signature(List<String> headers) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (String header : headers) {
+            digest.update(HeaderMatcher.normalize(header).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
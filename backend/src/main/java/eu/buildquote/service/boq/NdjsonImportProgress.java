@@ -0,0 +1,96 @@
+package eu.buildquote.service.boq;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.buildquote.dto.boq.BoqUploadResponseDto;
+import eu.buildquote.dto.boq.ColumnMappingDto;
+import eu.buildquote.enums.ImportJobStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes import events as newline-delimited JSON, flushing each line so clients can render them as they
+ * arrive. Progress lines are throttled, and only the first few warnings of each error type are sent one by
+ * one; the rest only show up in the per-type counts.
+ */
+public class NdjsonImportProgress implements ImportProgress {
+
+    private static final int PROGRESS_BATCH_ROWS = 1000;
+    private static final long PROGRESS_INTERVAL_NANOS = 100_000_000L;
+    private static final int WARNINGS_PER_TYPE = 20;
+
+    private final OutputStream out;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Integer> warningsByType = new LinkedHashMap<>();
+    private int nextBatch = PROGRESS_BATCH_ROWS;
+    private long lastProgress = System.nanoTime();
+
+    public NdjsonImportProgress(OutputStream out, ObjectMapper objectMapper) {
+        this.out = out;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void phase(ImportJobStatus status) {
+        write(new PhaseEvent("phase", status));
+    }
+
+    @Override
+    public void mappingsDetected(String sheetName, List<ColumnMappingDto> columnMappings, double confidence) {
+        write(new MappingsEvent("mappings", sheetName, confidence, columnMappings));
+    }
+
+    @Override
+    public void rowsParsed(int rows, int warnings) {
+        long now = System.nanoTime();
+        if (rows + warnings >= nextBatch && now - lastProgress >= PROGRESS_INTERVAL_NANOS) {
+            nextBatch = rows + warnings + PROGRESS_BATCH_ROWS;
+            lastProgress = now;
+            write(new ProgressEvent("progress", rows, warnings, new HashMap<>(warningsByType)));
+        }
+    }
+
+    @Override
+    public void rowWarning(String sheetName, int rowNumber, String errorType, String message) {
+        int count = warningsByType.merge(errorType, 1, Integer::sum);
+        if (count <= WARNINGS_PER_TYPE) {
+            write(new WarningEvent("warning", sheetName, rowNumber, errorType, message));
+        }
+    }
+
+    public void completed(BoqUploadResponseDto result) {
+        write(new SummaryEvent("summary", result));
+    }
+
+    public void failed(String message) {
+        write(new ErrorEvent("error", message));
+    }
+
+    private void write(Object event) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(event));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Client stopped reading import events", e);
+        }
+    }
+
+    private record PhaseEvent(String type, ImportJobStatus status) {}
+
+    private record MappingsEvent(String type, String sheetName, double overallConfidence,
+                                 List<ColumnMappingDto> columnMappings) {}
+
+    private record ProgressEvent(String type, int rowsParsed, int warningCount, Map<String, Integer> warningsByType) {}
+
+    private record WarningEvent(String type, String sheetName, int rowNumber, String errorType, String message) {}
+
+    private record SummaryEvent(String type, BoqUploadResponseDto result) {}
+
+    private record ErrorEvent(String type, String message) {}
+}
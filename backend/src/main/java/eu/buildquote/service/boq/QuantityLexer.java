@@ -0,0 +1,113 @@
+package eu.buildquote.service.boq;
+
+import java.math.BigDecimal;
+
+/**
+ * Reads a quantity from a BoQ cell without regex or intermediate strings. Accepts Estonian decimal
+ * commas as well as points, thousands separators (space, no-break space, apostrophe, or a repeated
+ * comma/point) and ignores a trailing unit such as {@code "12,5 m2"}.
+ */
+final class QuantityLexer {
+
+    private static final int MAX_DIGITS = 18;
+
+    private QuantityLexer() {
+    }
+
+    /**
+     * @return the parsed quantity, {@link BigDecimal#ZERO} for a blank cell
+     * @throws NumberFormatException if the cell does not start with a number
+     */
+    static BigDecimal parse(String text) {
+        int length = text.length();
+        int i = 0;
+        while (i < length && isSpace(text.charAt(i))) i++;
+        if (i == length) return BigDecimal.ZERO;
+
+        boolean negative = false;
+        char sign = text.charAt(i);
+        if (sign == '-' || sign == '\u2212') {
+            negative = true;
+            i++;
+        } else if (sign == '+') {
+            i++;
+        }
+
+        int start = i;
+        int end = numberEnd(text, start, length);
+
+        int commas = 0;
+        int points = 0;
+        int lastComma = -1;
+        int lastPoint = -1;
+        for (int j = start; j < end; j++) {
+            char c = text.charAt(j);
+            if (c == ',') {
+                commas++;
+                lastComma = j;
+            } else if (c == '.') {
+                points++;
+                lastPoint = j;
+            }
+        }
+
+        int decimalAt = -1;
+        if (commas > 0 && points > 0) {
+            decimalAt = Math.max(lastComma, lastPoint);
+            if ((decimalAt == lastComma ? commas : points) > 1) {
+                throw new NumberFormatException("Ambiguous separators in quantity");
+            }
+        } else if (commas == 1) {
+            decimalAt = lastComma;
+        } else if (points == 1) {
+            decimalAt = lastPoint;
+        }
+
+        long unscaled = 0;
+        int digits = 0;
+        int scale = 0;
+        for (int j = start; j < end; j++) {
+            char c = text.charAt(j);
+            if (!isDigit(c)) continue;
+            if (++digits > MAX_DIGITS) {
+                throw new NumberFormatException("Quantity has too many digits");
+            }
+            unscaled = unscaled * 10 + (c - '0');
+            if (decimalAt >= 0 && j > decimalAt) scale++;
+        }
+        if (digits == 0) {
+            throw new NumberFormatException("No digits in quantity");
+        }
+
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+    }
+
+    private static int numberEnd(String text, int start, int length) {
+        int end = start;
+        for (int j = start; j < length; j++) {
+            char c = text.charAt(j);
+            if (isDigit(c)) {
+                end = j + 1;
+            } else if (c == ',' || c == '.') {
+                if (j + 1 >= length || !isDigit(text.charAt(j + 1))) break;
+            } else if (isGroupSeparator(c)) {
+                if (end != j || j + 1 >= length || !isDigit(text.charAt(j + 1))) break;
+            } else {
+                break;
+            }
+        }
+        return end;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isGroupSeparator(char c) {
+        return c == ' ' || c == '\u00A0' || c == '\u202F' || c == '\'';
+    }
+
+    private static boolean isSpace(char c) {
+        return c <= ' ' || c == '\u00A0' || c == '\u202F';
+    }
+}
@@ -0,0 +1,11 @@
+package eu.buildquote.service.boq;
+
+/**
+ * Supplies a {@link BoqRowHandler} per worksheet. Workbook readers may drive the returned handlers from
+ * several threads at once, but each handler only ever sees the rows of its own sheet.
+ */
+@FunctionalInterface
+public interface SheetHandlerFactory {
+
+    BoqRowHandler forSheet(int sheetIndex, String sheetName);
+}
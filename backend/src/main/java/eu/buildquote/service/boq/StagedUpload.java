@@ -0,0 +1,17 @@
+package eu.buildquote.service.boq;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+public record StagedUpload(Path file, String extension, Instant expiresAt) {
+
+    boolean isExpired(Instant now) {
+        return now.isAfter(expiresAt);
+    }
+
+    void discard() throws IOException {
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,233 @@
+package eu.buildquote.service.boq;
+
+import org.apache.poi.hssf.eventusermodel.AbortableHSSFListener;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.HSSFUserException;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.DateWindow1904Record;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.poifs.filesystem.OfficeXmlFileException;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.util.RecordFormatException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams every worksheet of a BIFF8 workbook. All sheets share one record stream, so unlike
+ * {@link XlsxRowReader} they are read one after another in a single pass.
+ */
+@Component
+public class XlsRowReader {
+
+    public void read(Path file, SheetHandlerFactory handlers) throws IOException {
+        try (POIFSFileSystem fs = new POIFSFileSystem(file.toFile(), true)) {
+            WorkbookListener listener = new WorkbookListener(handlers);
+            HSSFRequest request = new HSSFRequest();
+            request.addListenerForAllRecords(listener);
+
+            new HSSFEventFactory().abortableProcessWorkbookEvents(request, fs);
+            listener.finish();
+        } catch (HSSFUserException | RecordFormatException | OfficeXmlFileException e) {
+            throw new IOException("Invalid XLS file: " + e.getMessage(), e);
+        }
+    }
+
+    private static class WorkbookListener extends AbortableHSSFListener {
+
+        private static final short CONTINUE = 0;
+        private static final short ABORT = 1;
+
+        private final SheetHandlerFactory handlers;
+        private final FormatTrackingHSSFListener formats = new FormatTrackingHSSFListener(null);
+        private final List<BoundSheetRecord> boundSheets = new ArrayList<>();
+
+        private BoundSheetRecord[] sheetsByPosition;
+        private SSTRecord sst;
+        private boolean date1904;
+        private int depth;
+        private int substreamCount;
+        private int worksheetCount;
+        private SheetReader sheet;
+
+        WorkbookListener(SheetHandlerFactory handlers) {
+            this.handlers = handlers;
+        }
+
+        @Override
+        public short abortableProcessRecord(Record record) {
+            formats.processRecordInternally(record);
+
+            switch (record.getSid()) {
+                case SSTRecord.sid -> sst = (SSTRecord) record;
+                case DateWindow1904Record.sid -> date1904 = ((DateWindow1904Record) record).getWindowing() == 1;
+                case BoundSheetRecord.sid -> boundSheets.add((BoundSheetRecord) record);
+                case BOFRecord.sid -> {
+                    BOFRecord bof = (BOFRecord) record;
+                    if (depth++ == 0 && bof.getType() != BOFRecord.TYPE_WORKBOOK) {
+                        startSubstream(bof);
+                    }
+                }
+                case EOFRecord.sid -> {
+                    if (--depth == 0) {
+                        finish();
+                    }
+                }
+                default -> {
+                    if (sheet != null && depth == 1) {
+                        sheet.process(record);
+                    }
+                }
+            }
+            return sheet != null && sheet.stopped && substreamCount >= sheetsByPosition.length ? ABORT : CONTINUE;
+        }
+
+        void finish() {
+            if (sheet != null) {
+                sheet.finish();
+                sheet = null;
+            }
+        }
+
+        private void startSubstream(BOFRecord bof) {
+            if (sheetsByPosition == null) {
+                sheetsByPosition = BoundSheetRecord.orderByBofPosition(boundSheets);
+            }
+            int position = substreamCount++;
+            if (bof.getType() != BOFRecord.TYPE_WORKSHEET) return;
+
+            String name = position < sheetsByPosition.length
+                    ? sheetsByPosition[position].getSheetname()
+                    : "Sheet" + (position + 1);
+            sheet = new SheetReader(handlers.forSheet(worksheetCount++, name));
+        }
+
+        private class SheetReader {
+
+            private final BoqRowHandler handler;
+
+            private List<String> cells = new ArrayList<>();
+            private int currentRow = -1;
+            private boolean headerSeen;
+            private int width;
+            private int pendingStringColumn = -1;
+            private int pendingStringRow = -1;
+            private boolean stopped;
+
+            SheetReader(BoqRowHandler handler) {
+                this.handler = handler;
+            }
+
+            void process(Record record) {
+                if (stopped) return;
+
+                if (record instanceof StringRecord stringRecord) {
+                    if (pendingStringRow >= 0) {
+                        setCell(pendingStringRow, pendingStringColumn, stringRecord.getString());
+                        pendingStringRow = -1;
+                    }
+                    return;
+                }
+
+                if (!(record instanceof CellValueRecordInterface cell)) return;
+
+                int row = cell.getRow();
+                int column = cell.getColumn();
+
+                switch (record) {
+                    case LabelSSTRecord label -> setCell(row, column, sst.getString(label.getSSTIndex()).getString());
+                    case LabelRecord label -> setCell(row, column, label.getValue());
+                    case NumberRecord number -> setCell(row, column, CellValueFormatter.numeric(
+                            number.getValue(), formats.getFormatIndex(number), formats.getFormatString(number), date1904));
+                    case BoolErrRecord boolErr -> setCell(row, column,
+                            boolErr.isBoolean() ? String.valueOf(boolErr.getBooleanValue()) : "");
+                    case FormulaRecord formula -> {
+                        CellType resultType = formula.getCachedResultTypeEnum();
+                        if (resultType == CellType.NUMERIC) {
+                            setCell(row, column, CellValueFormatter.formulaResult(formula.getValue()));
+                        } else if (resultType == CellType.BOOLEAN) {
+                            setCell(row, column, String.valueOf(formula.getCachedBooleanValue()));
+                        } else if (formula.hasCachedResultString()) {
+                            setCell(row, column, "");
+                            pendingStringRow = row;
+                            pendingStringColumn = column;
+                        } else {
+                            setCell(row, column, "");
+                        }
+                    }
+                    default -> setCell(row, column, "");
+                }
+            }
+
+            void finish() {
+                if (!stopped && !cells.isEmpty()) {
+                    emitRow();
+                }
+                if (!headerSeen) {
+                    headerSeen = true;
+                    handler.header(List.of());
+                }
+            }
+
+            private void setCell(int row, int column, String value) {
+                if (row != currentRow) {
+                    if (currentRow >= 0) {
+                        emitRow();
+                        if (stopped) return;
+                    }
+                    currentRow = row;
+                    cells = new ArrayList<>();
+                }
+
+                while (cells.size() <= column) {
+                    cells.add("");
+                }
+                cells.set(column, value);
+            }
+
+            private void emitRow() {
+                if (!headerSeen) {
+                    headerSeen = true;
+                    if (currentRow == 0) {
+                        width = cells.size();
+                        handler.header(cells);
+                        return;
+                    }
+                    handler.header(List.of());
+                }
+
+                if (isEmpty(cells)) return;
+
+                while (cells.size() < width) {
+                    cells.add("");
+                }
+                stopped = !handler.row(currentRow + 1, cells);
+            }
+
+            private boolean isEmpty(List<String> row) {
+                for (String value : row) {
+                    if (!value.isBlank()) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+    }
+}
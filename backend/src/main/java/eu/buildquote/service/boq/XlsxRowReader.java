@@ -0,0 +1,326 @@
+package eu.buildquote.service.boq;
+
+import org.apache.poi.openxml4j.exceptions.NotOfficeXmlFileException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.springframework.stereotype.Component;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class XlsxRowReader {
+
+    /**
+     * Reads every worksheet, each with its own handler from {@code handlers}. Shared strings and styles are
+     * loaded once up front; the sheets themselves are parsed concurrently on virtual threads.
+     */
+    public void read(Path file, SheetHandlerFactory handlers) throws IOException {
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(file.toFile(), PackageAccess.READ);
+        } catch (OpenXML4JException | NotOfficeXmlFileException e) {
+            throw new IOException("Invalid XLSX file: " + e.getMessage(), e);
+        }
+
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            SharedStrings sharedStrings = new ReadOnlySharedStringsTable(pkg);
+            NumberFormats formats = NumberFormats.of(reader.getStylesTable());
+            boolean date1904 = isDate1904(reader);
+            AtomicBoolean aborted = new AtomicBoolean();
+
+            List<Callable<Void>> tasks = new ArrayList<>();
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                sheets.next().close();
+                PackagePart part = sheets.getSheetPart();
+                SheetHandler sheetHandler = new SheetHandler(handlers.forSheet(tasks.size(), sheets.getSheetName()),
+                        sharedStrings, formats, date1904, aborted);
+                tasks.add(() -> {
+                    readSheet(part, sheetHandler);
+                    return null;
+                });
+            }
+
+            if (tasks.size() == 1) {
+                tasks.get(0).call();
+            } else {
+                runConcurrently(tasks, aborted);
+            }
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Invalid XLSX file: " + e.getMessage(), e);
+        } finally {
+            pkg.revert();
+        }
+    }
+
+    private void readSheet(PackagePart part, SheetHandler sheetHandler)
+            throws IOException, SAXException, ParserConfigurationException {
+        try (InputStream sheet = part.getInputStream()) {
+            parse(sheet, sheetHandler);
+        } catch (ReadingStopped e) {
+            return;
+        }
+        sheetHandler.finish();
+    }
+
+    private void runConcurrently(List<Callable<Void>> tasks, AtomicBoolean aborted) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    aborted.set(true);
+                    if (e.getCause() instanceof Exception cause) {
+                        throw cause;
+                    }
+                    throw (Error) e.getCause();
+                }
+            }
+        }
+    }
+
+    private boolean isDate1904(XSSFReader reader)
+            throws IOException, OpenXML4JException, SAXException, ParserConfigurationException {
+        boolean[] date1904 = {false};
+        try (InputStream workbook = reader.getWorkbookData()) {
+            parse(workbook, new DefaultHandler() {
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                    if ("workbookPr".equals(localName)) {
+                        String value = attributes.getValue("date1904");
+                        date1904[0] = "1".equals(value) || "true".equalsIgnoreCase(value);
+                    }
+                }
+            });
+        }
+        return date1904[0];
+    }
+
+    private void parse(InputStream in, DefaultHandler contentHandler)
+            throws IOException, SAXException, ParserConfigurationException {
+        XMLReader xmlReader = XMLHelper.newXMLReader();
+        xmlReader.setContentHandler(contentHandler);
+        xmlReader.parse(new InputSource(in));
+    }
+
+    private static class ReadingStopped extends SAXException {
+    }
+
+    private static class SheetHandler extends DefaultHandler {
+
+        private final BoqRowHandler handler;
+        private final SharedStrings sharedStrings;
+        private final NumberFormats formats;
+        private final boolean date1904;
+        private final AtomicBoolean aborted;
+
+        private final StringBuilder value = new StringBuilder();
+        private List<String> cells = new ArrayList<>();
+        private boolean headerSeen;
+        private int width;
+
+        private int rowNumber;
+        private int nextColumn;
+        private int column;
+        private String cellType;
+        private int styleIndex;
+        private boolean hasFormula;
+        private boolean inValue;
+        private boolean inInlineString;
+        private boolean inText;
+        private boolean inPhonetic;
+
+        SheetHandler(BoqRowHandler handler, SharedStrings sharedStrings, NumberFormats formats, boolean date1904,
+                     AtomicBoolean aborted) {
+            this.handler = handler;
+            this.sharedStrings = sharedStrings;
+            this.formats = formats;
+            this.date1904 = date1904;
+            this.aborted = aborted;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> {
+                    String ref = attributes.getValue("r");
+                    rowNumber = ref != null ? Integer.parseInt(ref) : rowNumber + 1;
+                    cells = new ArrayList<>();
+                    nextColumn = 0;
+                }
+                case "c" -> {
+                    String ref = attributes.getValue("r");
+                    column = ref != null ? new CellReference(ref).getCol() : nextColumn;
+                    cellType = attributes.getValue("t");
+                    String style = attributes.getValue("s");
+                    styleIndex = style != null ? Integer.parseInt(style) : 0;
+                    hasFormula = false;
+                    value.setLength(0);
+                }
+                case "v" -> {
+                    inValue = true;
+                    value.setLength(0);
+                }
+                case "f" -> hasFormula = true;
+                case "is" -> {
+                    inInlineString = true;
+                    value.setLength(0);
+                }
+                case "t" -> inText = true;
+                case "rPh" -> inPhonetic = true;
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inValue || (inInlineString && inText && !inPhonetic)) {
+                value.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            switch (localName) {
+                case "v" -> inValue = false;
+                case "t" -> inText = false;
+                case "rPh" -> inPhonetic = false;
+                case "is" -> inInlineString = false;
+                case "c" -> {
+                    while (cells.size() < column) {
+                        cells.add("");
+                    }
+                    cells.add(formatCellValue());
+                    nextColumn = column + 1;
+                }
+                case "row" -> emitRow();
+                default -> {
+                }
+            }
+        }
+
+        void finish() {
+            if (!headerSeen) {
+                headerSeen = true;
+                handler.header(List.of());
+            }
+        }
+
+        private void emitRow() throws ReadingStopped {
+            if (aborted.get()) {
+                throw new ReadingStopped();
+            }
+            if (!headerSeen) {
+                headerSeen = true;
+                if (rowNumber == 1) {
+                    width = cells.size();
+                    handler.header(cells);
+                    return;
+                }
+                handler.header(List.of());
+            }
+
+            if (isEmpty(cells)) return;
+
+            while (cells.size() < width) {
+                cells.add("");
+            }
+            if (!handler.row(rowNumber, cells)) {
+                throw new ReadingStopped();
+            }
+        }
+
+        private boolean isEmpty(List<String> row) {
+            for (String value : row) {
+                if (!value.isBlank()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private String formatCellValue() {
+            String raw = value.toString();
+
+            if (cellType == null || "n".equals(cellType)) {
+                if (raw.isEmpty()) return "";
+
+                double numValue = Double.parseDouble(raw);
+                if (hasFormula) {
+                    return CellValueFormatter.formulaResult(numValue);
+                }
+                return formats.format(numValue, styleIndex, date1904);
+            }
+
+            return switch (cellType) {
+                case "s" -> raw.isEmpty() ? "" : sharedStrings.getItemAt(Integer.parseInt(raw)).getString();
+                case "inlineStr", "str", "d" -> raw;
+                case "b" -> String.valueOf("1".equals(raw) || "true".equalsIgnoreCase(raw));
+                default -> "";
+            };
+        }
+
+    }
+
+    /**
+     * Data format of each cell style, resolved once so sheet threads never touch the shared {@link StylesTable}.
+     */
+    private record NumberFormats(short[] indexes, String[] strings) {
+
+        static NumberFormats of(StylesTable styles) {
+            int count = styles != null ? styles.getNumCellStyles() : 0;
+            short[] indexes = new short[count];
+            String[] strings = new String[count];
+            for (int i = 0; i < count; i++) {
+                XSSFCellStyle style = styles.getStyleAt(i);
+                if (style == null) continue;
+                indexes[i] = style.getDataFormat();
+                strings[i] = style.getDataFormatString() != null
+                        ? style.getDataFormatString()
+                        : BuiltinFormats.getBuiltinFormat(indexes[i]);
+            }
+            return new NumberFormats(indexes, strings);
+        }
+
+        String format(double value, int styleIndex, boolean date1904) {
+            if (styleIndex >= indexes.length) {
+                return CellValueFormatter.numeric(value, 0, null, date1904);
+            }
+            return CellValueFormatter.numeric(value, indexes[styleIndex], strings[styleIndex], date1904);
+        }
+    }
+}
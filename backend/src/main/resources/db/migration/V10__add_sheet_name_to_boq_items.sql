@@ -0,0 +1 @@
+ALTER TABLE boq_items ADD COLUMN sheet_name VARCHAR(100);
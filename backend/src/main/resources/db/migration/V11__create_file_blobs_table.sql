@@ -0,0 +1,15 @@
+CREATE TABLE file_blobs (
+    sha256 VARCHAR(64) PRIMARY KEY,
+    size BIGINT NOT NULL,
+    stored_size BIGINT NOT NULL,
+    ref_count INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    released_at TIMESTAMP
+);
+
+CREATE INDEX idx_file_blobs_unreferenced ON file_blobs(released_at) WHERE ref_count = 0;
+
+ALTER TABLE bill_of_quantities ADD COLUMN file_sha256 VARCHAR(64) REFERENCES file_blobs(sha256);
+ALTER TABLE bill_of_quantities ADD COLUMN parse_result TEXT;
+
+CREATE INDEX idx_boq_project_file ON bill_of_quantities(project_id, file_sha256);
@@ -0,0 +1,2 @@
+ALTER TABLE bill_of_quantities ADD COLUMN revision INTEGER NOT NULL DEFAULT 1;
+ALTER TABLE bill_of_quantities ADD COLUMN revised_at TIMESTAMP;
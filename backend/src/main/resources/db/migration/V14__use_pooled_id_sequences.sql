@@ -0,0 +1,11 @@
+-- Hibernate's pooled optimizer reserves the 50 ids up to each value it takes from these sequences, which lets
+-- it batch inserts. Each sequence is moved past the ids already handed out so no reserved block reaches back
+-- into them.
+ALTER SEQUENCE boq_items_id_seq INCREMENT BY 50;
+SELECT setval('boq_items_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM boq_items), (SELECT last_value FROM boq_items_id_seq)));
+
+ALTER SEQUENCE quotes_id_seq INCREMENT BY 50;
+SELECT setval('quotes_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM quotes), (SELECT last_value FROM quotes_id_seq)));
+
+ALTER SEQUENCE rfq_requests_id_seq INCREMENT BY 50;
+SELECT setval('rfq_requests_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM rfq_requests), (SELECT last_value FROM rfq_requests_id_seq)));
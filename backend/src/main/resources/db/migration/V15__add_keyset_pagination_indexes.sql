@@ -0,0 +1,22 @@
+-- Listings page on (created_at, id) in descending order, optionally filtered. Each index matches one query
+-- shape so any page is a single range scan; the single-column indexes they extend are dropped.
+CREATE INDEX idx_projects_user_created ON projects(user_id, created_at DESC, id DESC);
+CREATE INDEX idx_projects_user_status_created ON projects(user_id, status, created_at DESC, id DESC);
+DROP INDEX idx_projects_user_id;
+
+CREATE INDEX idx_suppliers_user_created ON suppliers(user_id, created_at DESC, id DESC);
+DROP INDEX idx_suppliers_user_id;
+
+CREATE INDEX idx_rfq_project_created ON rfq_requests(project_id, created_at DESC, id DESC);
+CREATE INDEX idx_rfq_supplier_created ON rfq_requests(supplier_id, created_at DESC, id DESC);
+DROP INDEX idx_rfq_project_id;
+DROP INDEX idx_rfq_supplier_id;
+
+CREATE INDEX idx_quotes_rfq_created ON quotes(rfq_request_id, created_at DESC, id DESC);
+CREATE INDEX idx_quotes_supplier_created ON quotes(supplier_id, created_at DESC, id DESC);
+DROP INDEX idx_quotes_rfq_id;
+DROP INDEX idx_quotes_supplier_id;
+
+-- Items page by id within their BoQ.
+CREATE INDEX idx_boq_items_boq_id_id ON boq_items(boq_id, id);
+DROP INDEX idx_boq_items_boq_id;
@@ -0,0 +1,9 @@
+-- Uploads waiting for an import are kept in the blob store instead of in the database
+ALTER TABLE import_jobs ADD COLUMN file_sha256 VARCHAR(64) REFERENCES file_blobs(sha256);
+
+UPDATE import_jobs
+SET status = 'FAILED', error = 'Uploaded file is no longer available', finished_at = CURRENT_TIMESTAMP,
+    locked_by = NULL, locked_until = NULL
+WHERE status IN ('QUEUED', 'PARSING', 'SAVING') AND boq_id IS NULL;
+
+DROP TABLE import_job_payloads;
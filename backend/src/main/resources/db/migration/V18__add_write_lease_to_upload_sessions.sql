@@ -0,0 +1,3 @@
+-- The writer of a chunk holds the session, so chunks arriving at different nodes cannot write at once
+ALTER TABLE upload_sessions ADD COLUMN writer VARCHAR(36);
+ALTER TABLE upload_sessions ADD COLUMN writing_until TIMESTAMP;
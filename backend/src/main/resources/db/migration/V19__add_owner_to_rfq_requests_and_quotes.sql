@@ -0,0 +1,15 @@
+-- Listings of an owner's RFQs and quotes across all projects filtered on the owner through the project, so
+-- no index on these tables could serve them and every page scanned and sorted all of the owner's rows. The
+-- owner is copied onto each row and indexed in the shape of those queries; the project, RFQ and supplier
+-- filters keep using the V15 indexes.
+ALTER TABLE rfq_requests ADD COLUMN user_id BIGINT REFERENCES users(id) ON DELETE CASCADE;
+UPDATE rfq_requests r SET user_id = p.user_id FROM projects p WHERE p.id = r.project_id;
+ALTER TABLE rfq_requests ALTER COLUMN user_id SET NOT NULL;
+
+ALTER TABLE quotes ADD COLUMN user_id BIGINT REFERENCES users(id) ON DELETE CASCADE;
+UPDATE quotes q SET user_id = r.user_id FROM rfq_requests r WHERE r.id = q.rfq_request_id;
+ALTER TABLE quotes ALTER COLUMN user_id SET NOT NULL;
+
+CREATE INDEX idx_rfq_user_created ON rfq_requests(user_id, created_at DESC, id DESC);
+CREATE INDEX idx_rfq_user_status_created ON rfq_requests(user_id, status, created_at DESC, id DESC);
+CREATE INDEX idx_quotes_user_created ON quotes(user_id, created_at DESC, id DESC);
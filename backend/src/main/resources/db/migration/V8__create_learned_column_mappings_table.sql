@@ -0,0 +1,8 @@
+CREATE TABLE learned_column_mappings (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    header_signature VARCHAR(64) NOT NULL,
+    column_mappings TEXT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE (user_id, header_signature)
+);
@@ -0,0 +1,29 @@
+CREATE TABLE import_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    project_id BIGINT NOT NULL REFERENCES projects(id) ON DELETE CASCADE,
+    filename VARCHAR(255) NOT NULL,
+    extension VARCHAR(10) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    locked_by VARCHAR(100),
+    locked_until TIMESTAMP,
+    rows_parsed INTEGER NOT NULL DEFAULT 0,
+    warning_count INTEGER NOT NULL DEFAULT 0,
+    boq_id BIGINT REFERENCES bill_of_quantities(id) ON DELETE SET NULL,
+    result TEXT,
+    error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    finished_at TIMESTAMP
+);
+
+CREATE INDEX idx_import_jobs_user_id ON import_jobs(user_id);
+CREATE INDEX idx_import_jobs_pending ON import_jobs(next_attempt_at)
+    WHERE status IN ('QUEUED', 'PARSING', 'SAVING');
+CREATE INDEX idx_import_jobs_finished_at ON import_jobs(finished_at);
+
+CREATE TABLE import_job_payloads (
+    job_id BIGINT PRIMARY KEY REFERENCES import_jobs(id) ON DELETE CASCADE,
+    content BYTEA NOT NULL
+);
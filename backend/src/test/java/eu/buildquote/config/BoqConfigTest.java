@@ -0,0 +1,46 @@
+package eu.buildquote.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoqConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ValidationAutoConfiguration.class))
+            .withUserConfiguration(Properties.class);
+
+    @Test
+    void refusesToStartWithoutABlobDirectory() {
+        contextRunner.withPropertyValues("boq.blob-directory=").run(context -> {
+            assertNotNull(context.getStartupFailure());
+            assertTrue(rootCause(context.getStartupFailure()).getMessage().contains("boq.blob-directory"));
+        });
+    }
+
+    @Test
+    void bindsTheBlobDirectory() {
+        contextRunner.withPropertyValues("boq.blob-directory=/srv/blobs").run(context ->
+                assertEquals(Path.of("/srv/blobs"), context.getBean(BoqConfig.class).getBlobDirectory()));
+    }
+
+    private static Throwable rootCause(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null) cause = cause.getCause();
+        return cause;
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(BoqConfig.class)
+    static class Properties {
+    }
+}
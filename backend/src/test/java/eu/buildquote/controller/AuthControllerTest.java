@@ -0,0 +1,154 @@
+package eu.buildquote.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.buildquote.entity.User;
+import eu.buildquote.repository.UserRepository;
+import eu.buildquote.security.AuthenticatedUser;
+import eu.buildquote.security.UserDetailsServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthControllerTest {
+
+    private static final String PASSWORD = "secret123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Test
+    void refusesLoginsAfterRepeatedFailuresWithRetryAfter() throws Exception {
+        String email = register();
+        for (int i = 0; i < 5; i++) {
+            login(email, "wrong", "192.0.2.10").andExpect(status().isUnauthorized());
+        }
+
+        String retryAfter = login(email, PASSWORD, "192.0.2.11")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.status").value(429))
+                .andReturn().getResponse().getHeader(HttpHeaders.RETRY_AFTER);
+        assertNotNull(retryAfter);
+        assertTrue(Long.parseLong(retryAfter) >= 1);
+    }
+
+    @Test
+    void rehashesPasswordsOfAnotherCostOnLogin() throws Exception {
+        String email = register();
+        User user = userRepository.findByEmail(email).orElseThrow();
+        user.setPasswordHash(new BCryptPasswordEncoder(4).encode(PASSWORD));
+        userRepository.save(user);
+
+        login(email, PASSWORD, "192.0.2.20").andExpect(status().isOk());
+
+        String rehashed = userRepository.findByEmail(email).orElseThrow().getPasswordHash();
+        assertTrue(rehashed.startsWith("$2a$10$"), rehashed);
+        login(email, PASSWORD, "192.0.2.20").andExpect(status().isOk());
+        assertEquals(rehashed, userRepository.findByEmail(email).orElseThrow().getPasswordHash());
+    }
+
+    @Test
+    void rehashDoesNotUndoAConcurrentPasswordChange() throws Exception {
+        String email = register();
+        User user = userRepository.findByEmail(email).orElseThrow();
+        AuthenticatedUser loggingIn = AuthenticatedUser.withPassword(user);
+        user.setPasswordHash(new BCryptPasswordEncoder().encode("changed123"));
+        userRepository.save(user);
+
+        userDetailsService.updatePassword(loggingIn, new BCryptPasswordEncoder().encode(PASSWORD));
+
+        login(email, "changed123", "192.0.2.30").andExpect(status().isOk());
+    }
+
+    @Test
+    void changesPasswordOnlyGivenTheCurrentOne() throws Exception {
+        String email = register();
+        String token = token(login(email, PASSWORD, "192.0.2.40"));
+
+        changePassword(token, "wrong", "newsecret")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Current password is incorrect"));
+        String newToken = token(changePassword(token, PASSWORD, "newsecret").andExpect(status().isOk()));
+
+        assertNotEquals(token, newToken);
+        login(email, PASSWORD, "192.0.2.40").andExpect(status().isUnauthorized());
+        login(email, "newsecret", "192.0.2.40").andExpect(status().isOk());
+    }
+
+    @Test
+    void refusesTheTokenOfALogout() throws Exception {
+        String email = register();
+        String token = token(login(email, PASSWORD, "192.0.2.50"));
+        String otherSession = token(login(email, PASSWORD, "192.0.2.51"));
+
+        mockMvc.perform(post("/api/v1/auth/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        me(token).andExpect(status().isForbidden());
+        me(otherSession).andExpect(status().isOk());
+    }
+
+    private String register() throws Exception {
+        String email = UUID.randomUUID() + "@example.com";
+        mockMvc.perform(post("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                Map.of("email", email, "password", PASSWORD, "companyName", "ACME"))))
+                .andExpect(status().isOk());
+        return email;
+    }
+
+    private ResultActions login(String email, String password, String address) throws Exception {
+        return mockMvc.perform(post("/api/v1/auth/login")
+                .with(request -> {
+                    request.setRemoteAddr(address);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("email", email, "password", password))));
+    }
+
+    private ResultActions me(String token) throws Exception {
+        return mockMvc.perform(get("/api/v1/auth/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+
+    private ResultActions changePassword(String token, String currentPassword, String newPassword) throws Exception {
+        return mockMvc.perform(put("/api/v1/auth/password")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        Map.of("currentPassword", currentPassword, "newPassword", newPassword))));
+    }
+
+    private String token(ResultActions result) throws Exception {
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString()).get("token").asText();
+    }
+}
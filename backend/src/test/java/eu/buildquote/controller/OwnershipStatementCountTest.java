@@ -0,0 +1,178 @@
+package eu.buildquote.controller;
+
+import eu.buildquote.StatementCounter;
+import eu.buildquote.entity.*;
+import eu.buildquote.security.AuthenticatedUser;
+import eu.buildquote.security.JwtTokenProvider;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statements run per request by endpoints that load one of the user's rows. The user comes from the token's
+ * claims and the ownership check is part of the query that loads the row.
+ */
+@SpringBootTest(properties = StatementCounter.PROPERTY)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+// H2 cannot create the PostgreSQL text[] column from the entity mapping, so the table is declared here.
+@Sql(statements = "CREATE TABLE IF NOT EXISTS suppliers (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+        + "user_id BIGINT NOT NULL, company_name VARCHAR(255) NOT NULL, contact_name VARCHAR(255), email VARCHAR(255), "
+        + "phone VARCHAR(255), categories VARCHAR(255) ARRAY, notes TEXT, created_at TIMESTAMP(6) NOT NULL)")
+class OwnershipStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    private AuthenticatedUser principal;
+    private Project project;
+    private Project foreignProject;
+    private Supplier supplier;
+    private BillOfQuantities boq;
+    private BoqItem item;
+    private RfqRequest rfq;
+    private Quote quote;
+
+    @BeforeEach
+    void setUp() {
+        User owner = persist(User.builder().email("owner@example.com").passwordHash("x").companyName("Owner").build());
+        User other = persist(User.builder().email("other@example.com").passwordHash("x").companyName("Other").build());
+        project = persist(Project.builder().user(owner).name("Project").build());
+        foreignProject = persist(Project.builder().user(other).name("Foreign").build());
+        supplier = persist(Supplier.builder().user(owner).companyName("Supplier").build());
+        boq = persist(BillOfQuantities.builder().project(project).originalFilename("boq.xlsx").build());
+        item = persist(BoqItem.builder().billOfQuantities(boq).description("Concrete")
+                .quantity(BigDecimal.ONE).unit("m3").build());
+        rfq = persist(RfqRequest.builder().project(project).supplier(supplier).build());
+        quote = persist(Quote.builder().rfqRequest(rfq).supplier(supplier).boqItem(item)
+                .unitPrice(BigDecimal.TEN).totalPrice(BigDecimal.TEN).build());
+        entityManager.flush();
+        principal = AuthenticatedUser.of(owner);
+    }
+
+    @Test
+    void getProject() throws Exception {
+        assertEquals(1, statements(get("/api/v1/projects/{id}", project.getId()), status().isOk()));
+    }
+
+    @Test
+    void authenticatesTokenWithoutLoadingUser() throws Exception {
+        String token = tokenProvider.generateToken(principal);
+        entityManager.clear();
+        StatementCounter.reset();
+
+        mockMvc.perform(get("/api/v1/projects/{id}", project.getId()).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        assertEquals(1, StatementCounter.count());
+    }
+
+    @Test
+    void getForeignProject() throws Exception {
+        assertEquals(1, statements(get("/api/v1/projects/{id}", foreignProject.getId()), status().isNotFound()));
+    }
+
+    @Test
+    void updateProject() throws Exception {
+        assertEquals(2, statements(put("/api/v1/projects/{id}", project.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Renamed\"}"), status().isOk()));
+    }
+
+    @Test
+    void getSupplier() throws Exception {
+        assertEquals(1, statements(get("/api/v1/suppliers/{id}", supplier.getId()), status().isOk()));
+    }
+
+    @Test
+    void getRfq() throws Exception {
+        assertEquals(1, statements(get("/api/v1/rfq/{id}", rfq.getId()), status().isOk()));
+    }
+
+    @Test
+    void getQuote() throws Exception {
+        assertEquals(1, statements(get("/api/v1/quotes/{id}", quote.getId()), status().isOk()));
+    }
+
+    @Test
+    void listQuotesOfRfq() throws Exception {
+        assertEquals(2, statements(get("/api/v1/quotes/rfq/{id}", rfq.getId()), status().isOk()));
+    }
+
+    @Test
+    void updateQuote() throws Exception {
+        assertEquals(2, statements(put("/api/v1/quotes/{id}", quote.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"rfqRequestId\":" + rfq.getId() + ",\"supplierId\":" + supplier.getId()
+                        + ",\"boqItemId\":" + item.getId() + ",\"unitPrice\":12,\"totalPrice\":12}"),
+                status().isOk()));
+    }
+
+    @Test
+    void getBoq() throws Exception {
+        // The BoQ and its items
+        assertEquals(2, statements(get("/api/v1/boq/{id}", boq.getId()), status().isOk()));
+    }
+
+    @Test
+    void listBoqItems() throws Exception {
+        assertEquals(2, statements(get("/api/v1/boq/{id}/items", boq.getId()), status().isOk()));
+    }
+
+    @Test
+    void updateBoqItem() throws Exception {
+        assertEquals(2, statements(put("/api/v1/boq/items/{id}", item.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"description\":\"Concrete C30\",\"quantity\":2,\"unit\":\"m3\"}"), status().isOk()));
+    }
+
+    @Test
+    void deleteRfq() throws Exception {
+        entityManager.remove(entityManager.find(Quote.class, quote.getId()));
+        entityManager.flush();
+
+        assertEquals(2, statements(delete("/api/v1/rfq/{id}", rfq.getId()), status().isNoContent()));
+    }
+
+    /**
+     * Runs the request against an empty persistence context and counts its statements, including the writes
+     * it leaves for the flush.
+     */
+    private int statements(MockHttpServletRequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+        entityManager.clear();
+        StatementCounter.reset();
+        mockMvc.perform(request.with(user(principal))).andExpect(expectedStatus);
+        entityManager.flush();
+        return StatementCounter.count();
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,100 @@
+package eu.buildquote.repository;
+
+import eu.buildquote.dto.QuoteDto;
+import eu.buildquote.entity.*;
+import eu.buildquote.StatementCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = StatementCounter.PROPERTY)
+@ActiveProfiles("test")
+@Transactional
+// H2 cannot create the PostgreSQL text[] column from the entity mapping, so the table is declared here.
+@Sql(statements = "CREATE TABLE IF NOT EXISTS suppliers (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+        + "user_id BIGINT NOT NULL, company_name VARCHAR(255) NOT NULL, contact_name VARCHAR(255), email VARCHAR(255), "
+        + "phone VARCHAR(255), categories VARCHAR(255) ARRAY, notes TEXT, created_at TIMESTAMP(6) NOT NULL)")
+class QuoteRepositoryTest {
+
+    private static final int QUOTES = 5;
+    private static final LocalDateTime START = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    @Autowired
+    private QuoteRepository quoteRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private RfqRequest rfq;
+
+    @BeforeEach
+    void setUp() {
+        user = persist(User.builder().email("quotes@example.com").passwordHash("x").companyName("ACME").build());
+        Project project = persist(Project.builder().user(user).name("Project").build());
+        BillOfQuantities boq = persist(BillOfQuantities.builder().project(project).originalFilename("boq.xlsx").build());
+        rfq = persist(RfqRequest.builder()
+                .project(project)
+                .supplier(persist(Supplier.builder().user(user).companyName("Supplier 0").build()))
+                .build());
+
+        for (int i = 0; i < QUOTES; i++) {
+            // A supplier and an item per quote, so lazy loading would need a select for each.
+            Supplier supplier = persist(Supplier.builder().user(user).companyName("Supplier " + (i + 1)).build());
+            BoqItem item = persist(BoqItem.builder().billOfQuantities(boq).description("Item " + i)
+                    .quantity(BigDecimal.ONE).unit("m2").build());
+            persist(Quote.builder().rfqRequest(rfq).supplier(supplier).boqItem(item)
+                    .unitPrice(BigDecimal.TEN).totalPrice(BigDecimal.TEN).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        StatementCounter.reset();
+    }
+
+    @Test
+    void listsQuotesOfUserInOneStatement() {
+        List<QuoteDto> quotes = quoteRepository.findDtoPage(user.getId(), null, null, START, Long.MAX_VALUE,
+                PageRequest.ofSize(QUOTES));
+
+        assertEquals(QUOTES, quotes.size());
+        assertEquals(1, StatementCounter.count());
+        assertEquals(rfq.getId(), quotes.get(0).getRfqRequestId());
+        assertEquals(List.of("Item 0", "Item 1", "Item 2", "Item 3", "Item 4"),
+                quotes.stream().map(QuoteDto::getBoqItemDescription).sorted().toList());
+        assertEquals(List.of("Supplier 1", "Supplier 2", "Supplier 3", "Supplier 4", "Supplier 5"),
+                quotes.stream().map(QuoteDto::getSupplierCompanyName).sorted().toList());
+    }
+
+    @Test
+    void listsQuotesOfRfqInOneStatement() {
+        List<QuoteDto> quotes = quoteRepository.findDtoPage(user.getId(), rfq.getId(), null, START, Long.MAX_VALUE,
+                PageRequest.ofSize(QUOTES));
+
+        assertEquals(QUOTES, quotes.size());
+        assertEquals(1, StatementCounter.count());
+    }
+
+    @Test
+    void listsOnlyQuotesOfTheOwner() {
+        assertEquals(List.of(user.getId()), quoteRepository.findAll().stream().map(Quote::getUserId).distinct().toList());
+        assertEquals(List.of(), quoteRepository.findDtoPage(user.getId() + 1, null, null, START, Long.MAX_VALUE,
+                PageRequest.ofSize(QUOTES)));
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,51 @@
+package eu.buildquote.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    void neverMissesAnAddedKey() {
+        BloomFilter filter = new BloomFilter(100_000, 0.001);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            keys.add(UUID.randomUUID().toString());
+        }
+        keys.forEach(filter::add);
+
+        keys.forEach(key -> assertTrue(filter.mightContain(key), key));
+    }
+
+    @Test
+    void neverMissesAnAddedKeyWhenOverfilled() {
+        BloomFilter filter = new BloomFilter(100, 0.001);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            keys.add("token-" + i);
+        }
+        keys.forEach(filter::add);
+
+        keys.forEach(key -> assertTrue(filter.mightContain(key), key));
+    }
+
+    @Test
+    void reportsAbsentKeysAtAboutTheRateItWasSizedFor() {
+        BloomFilter filter = new BloomFilter(100_000, 0.001);
+        for (int i = 0; i < 100_000; i++) {
+            filter.add(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) falsePositives++;
+        }
+        // About 100 expected
+        assertTrue(falsePositives < 300, falsePositives + " false positives");
+    }
+}
@@ -0,0 +1,98 @@
+package eu.buildquote.security;
+
+import eu.buildquote.config.AuthConfig;
+import eu.buildquote.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginAttemptThrottleTest {
+
+    private static final String ADDRESS = "192.0.2.1";
+
+    @Test
+    void refusesAnAccountAfterItsFailedLoginsFromAnyAddress() {
+        LoginAttemptThrottle throttle = new LoginAttemptThrottle(config(Duration.ofMinutes(15)));
+        for (int i = 0; i < 3; i++) {
+            throttle.check("site@example.com", "192.0.2." + i);
+            throttle.recordFailure("site@example.com", "192.0.2." + i);
+        }
+
+        TooManyRequestsException refused = assertThrows(TooManyRequestsException.class,
+                () -> throttle.check(" Site@Example.com", "198.51.100.7"));
+        assertTrue(refused.getRetryAfter().compareTo(Duration.ZERO) > 0);
+        assertTrue(refused.getRetryAfter().compareTo(Duration.ofMinutes(15)) <= 0);
+        assertDoesNotThrow(() -> throttle.check("other@example.com", "198.51.100.7"));
+    }
+
+    @Test
+    void refusesAnAddressAfterItsFailedLoginsForAnyAccount() {
+        LoginAttemptThrottle throttle = new LoginAttemptThrottle(config(Duration.ofMinutes(15)));
+        for (int i = 0; i < 10; i++) {
+            throttle.recordFailure("user" + i + "@example.com", ADDRESS);
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> throttle.check("new@example.com", ADDRESS));
+        assertDoesNotThrow(() -> throttle.check("new@example.com", "192.0.2.2"));
+    }
+
+    @Test
+    void forgetsFailuresOfAnEndedWindow() throws InterruptedException {
+        LoginAttemptThrottle throttle = new LoginAttemptThrottle(config(Duration.ofMillis(200)));
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("site@example.com", ADDRESS);
+        }
+        assertThrows(TooManyRequestsException.class, () -> throttle.check("site@example.com", ADDRESS));
+
+        Thread.sleep(250);
+
+        assertDoesNotThrow(() -> throttle.check("site@example.com", ADDRESS));
+    }
+
+    @Test
+    void keepsFailuresOfManyAccountsApart() {
+        LoginAttemptThrottle throttle = new LoginAttemptThrottle(config(Duration.ofMinutes(15)));
+        for (int i = 0; i < 50_000; i++) {
+            String address = "10.0." + (i >> 8 & 255) + "." + (i & 255);
+            throttle.recordFailure("user" + i + "@example.com", address);
+            throttle.recordFailure("user" + i + "@example.com", address);
+        }
+
+        int refused = 0;
+        for (int i = 0; i < 50_000; i++) {
+            try {
+                throttle.check("user" + i + "@example.com", "203.0.113.1");
+            } catch (TooManyRequestsException e) {
+                refused++;
+            }
+        }
+        // Two failures each is under the limit of three, however many accounts share slots
+        assertEquals(0, refused);
+    }
+
+    @Test
+    void keepsTheThrottledAccountThroughAFloodOfOthers() {
+        LoginAttemptThrottle throttle = new LoginAttemptThrottle(config(Duration.ofMinutes(15)));
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("site@example.com", ADDRESS);
+        }
+        for (int i = 0; i < 200_000; i++) {
+            throttle.recordFailure("user" + i + "@example.com", "10.1." + (i >> 8 & 255) + "." + (i & 255));
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> throttle.check("site@example.com", "198.51.100.7"));
+    }
+
+    private static AuthConfig config(Duration window) {
+        AuthConfig config = new AuthConfig();
+        config.setMaxFailedLoginsPerAccount(3);
+        config.setMaxFailedLoginsPerAddress(10);
+        config.setFailedLoginWindow(window);
+        return config;
+    }
+}
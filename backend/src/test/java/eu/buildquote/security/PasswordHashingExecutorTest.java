@@ -0,0 +1,78 @@
+package eu.buildquote.security;
+
+import eu.buildquote.config.AuthConfig;
+import eu.buildquote.exception.BadRequestException;
+import eu.buildquote.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor(config());
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void returnsTheResultOnAHashingThread() {
+        assertTrue(executor.execute(() -> Thread.currentThread().getName()).startsWith("password-hashing-"));
+    }
+
+    @Test
+    void rethrowsExceptionsOfTheTaskUnchanged() {
+        BadRequestException thrown = new BadRequestException("Current password is incorrect");
+
+        assertSame(thrown, assertThrows(BadRequestException.class, () -> executor.execute(() -> {
+            throw thrown;
+        })));
+    }
+
+    @Test
+    void refusesTasksBeyondTheQueueWithRetryAfter() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+            running.countDown();
+            await(release);
+            return "first";
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> executor.execute(() -> "queued"));
+        while (executor.queueDepth() == 0) {
+            Thread.onSpinWait();
+        }
+
+        TooManyRequestsException refused = assertThrows(TooManyRequestsException.class,
+                () -> executor.execute(() -> "refused"));
+        assertTrue(refused.getRetryAfter().compareTo(Duration.ZERO) > 0);
+
+        release.countDown();
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+        assertEquals("after", executor.execute(() -> "after"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static AuthConfig config() {
+        AuthConfig config = new AuthConfig();
+        config.setHashingThreads(1);
+        config.setHashingQueueCapacity(1);
+        return config;
+    }
+}
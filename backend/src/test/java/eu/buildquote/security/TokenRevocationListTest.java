@@ -0,0 +1,111 @@
+package eu.buildquote.security;
+
+import eu.buildquote.entity.RevokedToken;
+import eu.buildquote.entity.User;
+import eu.buildquote.repository.RevokedTokenRepository;
+import eu.buildquote.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TokenRevocationListTest {
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void revokesASingleToken() {
+        User user = user();
+        AuthenticatedUser revoked = token(user, Instant.now());
+        AuthenticatedUser other = token(user, Instant.now());
+
+        tokenRevocationList.revokeToken(revoked);
+
+        assertTrue(tokenRevocationList.isRevoked(revoked));
+        assertFalse(tokenRevocationList.isRevoked(other));
+    }
+
+    @Test
+    void revokesAllTokensIssuedBeforeTheSecondOfTheRevocation() {
+        User user = user();
+
+        tokenRevocationList.revokeAllTokens(user.getId());
+
+        Instant cutoff = revocationOf(user).getRevokedAt().atZone(ZoneId.systemDefault()).toInstant();
+        assertTrue(tokenRevocationList.isRevoked(token(user, cutoff.minusMillis(1))));
+        assertTrue(tokenRevocationList.isRevoked(token(user, cutoff.minusSeconds(60))));
+        // Issued in the same second, e.g. the token returned by the password change itself
+        assertFalse(tokenRevocationList.isRevoked(token(user, cutoff)));
+        assertFalse(tokenRevocationList.isRevoked(token(user, cutoff.plusMillis(999))));
+        assertFalse(tokenRevocationList.isRevoked(token(user(), cutoff.minusSeconds(60))));
+    }
+
+    @Test
+    void refreshPicksUpRevocationsOfOtherNodes() {
+        User user = user();
+        AuthenticatedUser revoked = token(user, Instant.now().minusSeconds(60));
+        User other = user();
+        AuthenticatedUser signedOut = token(other, Instant.now());
+        // Rows written by another node, bypassing this node's mirror
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.save(revocation(user, null, now));
+        revokedTokenRepository.save(revocation(other, signedOut.getTokenId(), now));
+
+        tokenRevocationList.refresh();
+
+        assertTrue(tokenRevocationList.isRevoked(revoked));
+        assertTrue(tokenRevocationList.isRevoked(signedOut));
+    }
+
+    @Test
+    void rebuildPicksUpRevocationsOlderThanTheRefreshOverlap() {
+        User user = user();
+        LocalDateTime revokedAt = LocalDateTime.now().minusMinutes(10);
+        AuthenticatedUser revoked = token(user, revokedAt.minusMinutes(5).atZone(ZoneId.systemDefault()).toInstant());
+        revokedTokenRepository.save(revocation(user, null, revokedAt));
+
+        tokenRevocationList.refresh();
+        assertFalse(tokenRevocationList.isRevoked(revoked));
+
+        tokenRevocationList.rebuild();
+        assertTrue(tokenRevocationList.isRevoked(revoked));
+    }
+
+    private User user() {
+        return userRepository.save(User.builder().email(UUID.randomUUID() + "@example.com").passwordHash("x")
+                .companyName("ACME").build());
+    }
+
+    private RevokedToken revocationOf(User user) {
+        return revokedTokenRepository.findAll().stream()
+                .filter(revocation -> revocation.getUser().getId().equals(user.getId()))
+                .findFirst().orElseThrow();
+    }
+
+    private static AuthenticatedUser token(User user, Instant issuedAt) {
+        return AuthenticatedUser.fromToken(user.getId(), user.getEmail(), user.getCompanyName(),
+                UUID.randomUUID().toString(), issuedAt);
+    }
+
+    private static RevokedToken revocation(User user, String tokenId, LocalDateTime revokedAt) {
+        return RevokedToken.builder().user(user).tokenId(tokenId).revokedAt(revokedAt)
+                .expiresAt(revokedAt.plusDays(1)).build();
+    }
+}
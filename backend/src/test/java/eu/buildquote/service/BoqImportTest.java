@@ -0,0 +1,120 @@
+package eu.buildquote.service;
+
+import eu.buildquote.dto.boq.ImportJobDto;
+import eu.buildquote.entity.ImportJob;
+import eu.buildquote.entity.Project;
+import eu.buildquote.entity.User;
+import eu.buildquote.enums.ImportJobStatus;
+import eu.buildquote.repository.FileBlobRepository;
+import eu.buildquote.repository.ImportJobRepository;
+import eu.buildquote.repository.ProjectRepository;
+import eu.buildquote.repository.UserRepository;
+import eu.buildquote.security.AuthenticatedUser;
+import eu.buildquote.service.boq.FileBlobStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BoqImportTest {
+
+    @Autowired
+    private BoqImportService boqImportService;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private FileBlobRepository fileBlobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private FileBlobStore fileBlobStore;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void importsTheUploadFromTheBlobStoreAndReleasesIt() throws InterruptedException {
+        User user = userRepository.save(User.builder().email(UUID.randomUUID() + "@example.com").passwordHash("x")
+                .companyName("ACME").build());
+        Project project = projectRepository.save(Project.builder().user(user).name("Project").build());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                AuthenticatedUser.of(user), null, List.of()));
+        MockMultipartFile file = new MockMultipartFile("file", "boq.csv", "text/csv",
+                ("Nr;Kirjeldus;Kogus;Ühik\n1;Kaevetööd;100;m3\n2;Vundament " + UUID.randomUUID() + ";20;m3\n")
+                        .getBytes(StandardCharsets.UTF_8));
+
+        ImportJobDto started = boqImportService.startImport(project.getId(), file);
+        String sha256 = importJobRepository.findById(started.getJobId()).map(ImportJob::getFileSha256).orElseThrow();
+
+        ImportJobDto finished = awaitFinished(started.getJobId());
+        assertEquals(ImportJobStatus.COMPLETED, finished.getStatus(), finished.getError());
+        assertEquals(2, finished.getRowsParsed());
+        assertNull(importJobRepository.findById(started.getJobId()).orElseThrow().getFileSha256());
+        // Only the bill of quantities still references the blob
+        assertEquals(1, fileBlobRepository.findById(sha256).orElseThrow().getRefCount());
+    }
+
+    @Test
+    void releasesTheUploadOfAQueuedJobWithItsProject() throws IOException {
+        User user = userRepository.save(User.builder().email(UUID.randomUUID() + "@example.com").passwordHash("x")
+                .companyName("ACME").build());
+        Project project = projectRepository.save(Project.builder().user(user).name("Project").build());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                AuthenticatedUser.of(user), null, List.of()));
+        Path upload = Files.createTempFile("boq-", ".csv");
+        Files.writeString(upload, "Nr;Kirjeldus\n1;Betoon " + UUID.randomUUID() + "\n");
+        String sha256 = fileBlobStore.hash(upload);
+        transactionTemplate.executeWithoutResult(status -> {
+            fileBlobStore.retain(sha256, upload);
+            // Not due for a day, so no worker claims it during the test
+            importJobRepository.save(ImportJob.builder().user(user).project(project).filename("boq.csv")
+                    .extension("csv").nextAttemptAt(LocalDateTime.now().plusDays(1)).fileSha256(sha256).build());
+        });
+        Files.delete(upload);
+
+        projectService.deleteProject(project.getId());
+
+        assertEquals(0, fileBlobRepository.findById(sha256).orElseThrow().getRefCount());
+    }
+
+    private ImportJobDto awaitFinished(Long jobId) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            ImportJobDto job = boqImportService.getJob(jobId);
+            if (job.getFinishedAt() != null) return job;
+            Thread.sleep(50);
+        }
+        return fail("Import job " + jobId + " did not finish");
+    }
+}
@@ -0,0 +1,121 @@
+package eu.buildquote.service;
+
+import eu.buildquote.dto.boq.BoqRevisionResponseDto;
+import eu.buildquote.entity.*;
+import eu.buildquote.repository.BoqItemRepository;
+import eu.buildquote.repository.QuoteRepository;
+import eu.buildquote.security.AuthenticatedUser;
+import jakarta.persistence.EntityManager;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+// H2 cannot create the PostgreSQL text[] column from the entity mapping, so the table is declared here.
+@Sql(statements = "CREATE TABLE IF NOT EXISTS suppliers (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+        + "user_id BIGINT NOT NULL, company_name VARCHAR(255) NOT NULL, contact_name VARCHAR(255), email VARCHAR(255), "
+        + "phone VARCHAR(255), categories VARCHAR(255) ARRAY, notes TEXT, created_at TIMESTAMP(6) NOT NULL)")
+class BoqRevisionTest {
+
+    @Autowired
+    private BoqParserService boqParserService;
+
+    @Autowired
+    private BoqItemRepository boqItemRepository;
+
+    @Autowired
+    private QuoteRepository quoteRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void revisingItemsWithoutSheetFromAWorkbookKeepsTheirQuotes() throws IOException {
+        // Items of a CSV import, or of any import before sheets were recorded, have no sheet
+        BillOfQuantities boq = transactionTemplate.execute(status -> {
+            User user = persist(User.builder().email(UUID.randomUUID() + "@example.com").passwordHash("x")
+                    .companyName("ACME").build());
+            Project project = persist(Project.builder().user(user).name("Project").build());
+            BillOfQuantities saved = persist(BillOfQuantities.builder().project(project)
+                    .originalFilename("boq.csv").build());
+            RfqRequest rfq = persist(RfqRequest.builder().project(project)
+                    .supplier(persist(Supplier.builder().user(user).companyName("Supplier").build())).build());
+            for (String[] line : List.of(new String[]{"1", "Kaevetööd", "100"}, new String[]{"2", "Vundament", "20"})) {
+                BoqItem item = persist(BoqItem.builder().billOfQuantities(saved).itemNumber(line[0])
+                        .description(line[1]).quantity(new BigDecimal(line[2])).unit("m3").build());
+                persist(Quote.builder().rfqRequest(rfq).supplier(rfq.getSupplier()).boqItem(item)
+                        .unitPrice(BigDecimal.TEN).totalPrice(BigDecimal.TEN).build());
+            }
+            return saved;
+        });
+        User user = boq.getProject().getUser();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                AuthenticatedUser.of(user), null, List.of()));
+        List<Long> itemIds = itemIds(boq.getId());
+
+        BoqRevisionResponseDto response = boqParserService.reviseBoq(boq.getProject().getId(), boq.getId(),
+                workbook("Ehitus", new String[]{"1", "Kaevetööd", "120"}, new String[]{"2", "Vundament", "20"}));
+
+        assertEquals(0, response.getDeleted());
+        assertEquals(2, response.getUpdated());
+        assertEquals(itemIds, itemIds(boq.getId()));
+        assertEquals(2, quoteRepository.findAll().stream()
+                .filter(quote -> itemIds.contains(quote.getBoqItem().getId()))
+                .count());
+    }
+
+    private List<Long> itemIds(Long boqId) {
+        return boqItemRepository.findByBillOfQuantitiesId(boqId).stream().map(BoqItem::getId).sorted().toList();
+    }
+
+    private static MockMultipartFile workbook(String sheetName, String[]... lines) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet(sheetName);
+            Row header = sheet.createRow(0);
+            String[] headers = {"Nr", "Kirjeldus", "Kogus", "Ühik"};
+            for (int i = 0; i < headers.length; i++) header.createCell(i).setCellValue(headers[i]);
+            for (int r = 0; r < lines.length; r++) {
+                Row row = sheet.createRow(r + 1);
+                row.createCell(0).setCellValue(lines[r][0]);
+                row.createCell(1).setCellValue(lines[r][1]);
+                row.createCell(2).setCellValue(Double.parseDouble(lines[r][2]));
+                row.createCell(3).setCellValue("m3");
+            }
+            workbook.write(out);
+            return new MockMultipartFile("file", "boq.xlsx",
+                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", out.toByteArray());
+        }
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,82 @@
+package eu.buildquote.service;
+
+import eu.buildquote.dto.boq.BoqUploadResponseDto;
+import eu.buildquote.entity.Project;
+import eu.buildquote.entity.User;
+import eu.buildquote.repository.ProjectRepository;
+import eu.buildquote.repository.UserRepository;
+import eu.buildquote.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BoqUploadPreviewTest {
+
+    @Autowired
+    private BoqParserService boqParserService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    private Project project;
+
+    @BeforeEach
+    void signIn() {
+        User user = userRepository.save(User.builder().email(UUID.randomUUID() + "@example.com").passwordHash("x")
+                .companyName("ACME").build());
+        project = projectRepository.save(Project.builder().user(user).name("Project").build());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                AuthenticatedUser.of(user), null, List.of()));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void leavesTheRowCountUnsetWhenOnlyThePreviewWasRead() {
+        BoqUploadResponseDto response = boqParserService.parseAndUpload(project.getId(), csv("Veerg A,Veerg B,Veerg C,Veerg D"));
+
+        assertTrue(response.isRequiresConfirmation());
+        assertTrue(response.isPreviewOnly());
+        assertNull(response.getTotalRowsParsed());
+        assertNull(response.getSheets().get(0).getRowsParsed());
+        assertEquals(10, response.getPreviewItems().size());
+    }
+
+    @Test
+    void countsEveryRowOfAConfidentParse() {
+        BoqUploadResponseDto response = boqParserService.parseAndUpload(project.getId(), csv("Nr,Kirjeldus,Kogus,Ühik"));
+
+        assertFalse(response.isRequiresConfirmation());
+        assertFalse(response.isPreviewOnly());
+        assertEquals(30, response.getTotalRowsParsed());
+        assertEquals(30, response.getSheets().get(0).getRowsParsed());
+    }
+
+    private static MockMultipartFile csv(String header) {
+        StringBuilder content = new StringBuilder(header).append('\n');
+        for (int i = 1; i <= 30; i++) {
+            content.append(i).append(",Betoon ").append(UUID.randomUUID()).append(',').append(i).append(",m3\n");
+        }
+        return new MockMultipartFile("file", "boq.csv", "text/csv", content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,138 @@
+package eu.buildquote.service;
+
+import eu.buildquote.config.BoqConfig;
+import eu.buildquote.dto.boq.CreateUploadRequestDto;
+import eu.buildquote.dto.boq.UploadSessionDto;
+import eu.buildquote.entity.Project;
+import eu.buildquote.entity.User;
+import eu.buildquote.exception.ConflictException;
+import eu.buildquote.repository.ProjectRepository;
+import eu.buildquote.repository.UploadSessionRepository;
+import eu.buildquote.repository.UserRepository;
+import eu.buildquote.security.AuthenticatedUser;
+import eu.buildquote.service.boq.FileBlobStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BoqUploadTest {
+
+    private static final byte[] FIRST = "Nr;Kirjeldus;Kogus;Ühik\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SECOND = "1;Kaevetööd;100;m3\n".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private BoqUploadService boqUploadService;
+
+    @Autowired
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private BoqConfig boqConfig;
+
+    private Project project;
+
+    @BeforeEach
+    void signIn() {
+        User user = userRepository.save(User.builder().email(UUID.randomUUID() + "@example.com").passwordHash("x")
+                .companyName("ACME").build());
+        project = projectRepository.save(Project.builder().user(user).name("Project").build());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                AuthenticatedUser.of(user), null, List.of()));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void keepsThePartFileInTheSharedBlobDirectory() throws IOException {
+        String uploadId = createUpload();
+
+        boqUploadService.appendChunk(project.getId(), uploadId, 0, sha256(FIRST), new ByteArrayInputStream(FIRST));
+
+        Path partFile = boqConfig.getBlobDirectory().resolve("uploads").resolve(uploadId + ".part");
+        assertArrayEquals(FIRST, Files.readAllBytes(partFile));
+        boqUploadService.abortUpload(project.getId(), uploadId);
+        assertFalse(Files.exists(partFile));
+    }
+
+    @Test
+    void refusesAChunkWhileAnotherNodeWritesOne() {
+        String uploadId = createUpload();
+        LocalDateTime now = LocalDateTime.now();
+        uploadSessionRepository.claimWrite(uploadId, "other-node", now, now.plusMinutes(1));
+
+        assertThrows(ConflictException.class, () -> boqUploadService.appendChunk(project.getId(), uploadId, 0,
+                sha256(FIRST), new ByteArrayInputStream(FIRST)));
+
+        uploadSessionRepository.releaseWrite(uploadId, "other-node");
+        UploadSessionDto session = boqUploadService.appendChunk(project.getId(), uploadId, 0, sha256(FIRST),
+                new ByteArrayInputStream(FIRST));
+        assertEquals(FIRST.length, session.getReceivedBytes());
+    }
+
+    @Test
+    void takesOverTheLeaseOfAWriterThatStopped() {
+        String uploadId = createUpload();
+        LocalDateTime past = LocalDateTime.now().minusMinutes(20);
+        uploadSessionRepository.claimWrite(uploadId, "stopped-node", past, past.plusMinutes(10));
+
+        UploadSessionDto session = boqUploadService.appendChunk(project.getId(), uploadId, 0, sha256(FIRST),
+                new ByteArrayInputStream(FIRST));
+
+        assertEquals(FIRST.length, session.getReceivedBytes());
+        assertEquals(0, uploadSessionRepository.advance(uploadId, "stopped-node", FIRST.length,
+                FIRST.length + SECOND.length, LocalDateTime.now().plusHours(1)));
+    }
+
+    @Test
+    void refusesAChunkAtAnOffsetAlreadyPassed() {
+        String uploadId = createUpload();
+        boqUploadService.appendChunk(project.getId(), uploadId, 0, sha256(FIRST), new ByteArrayInputStream(FIRST));
+
+        ConflictException e = assertThrows(ConflictException.class, () -> boqUploadService.appendChunk(
+                project.getId(), uploadId, 0, sha256(FIRST), new ByteArrayInputStream(FIRST)));
+        assertTrue(e.getMessage().endsWith("offset " + FIRST.length), e.getMessage());
+
+        UploadSessionDto session = boqUploadService.appendChunk(project.getId(), uploadId, FIRST.length,
+                sha256(SECOND), new ByteArrayInputStream(SECOND));
+        assertTrue(session.isComplete());
+    }
+
+    private String createUpload() {
+        CreateUploadRequestDto request = new CreateUploadRequestDto();
+        request.setFilename("boq.csv");
+        request.setTotalSize((long) (FIRST.length + SECOND.length));
+        return boqUploadService.createUpload(project.getId(), request).getUploadId();
+    }
+
+    private static String sha256(byte[] data) {
+        return HexFormat.of().formatHex(FileBlobStore.sha256().digest(data));
+    }
+}
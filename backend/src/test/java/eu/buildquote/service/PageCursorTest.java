@@ -0,0 +1,51 @@
+package eu.buildquote.service;
+
+import eu.buildquote.dto.CursorPage;
+import eu.buildquote.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    @Test
+    void returnsEveryRowWithoutALimit() {
+        List<Long> rows = ids(250);
+
+        assertTrue(PageCursor.fetch(null).isUnpaged());
+        CursorPage<Long> page = PageCursor.page(rows, null, this::position);
+        assertEquals(rows, page.items());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void cutsThePageAtTheLimitAndPointsPastItsLastRow() {
+        assertEquals(3, PageCursor.fetch(2).getPageSize());
+
+        CursorPage<Long> page = PageCursor.page(ids(3), 2, this::position);
+
+        assertEquals(List.of(1L, 2L), page.items());
+        assertEquals(position(2L), PageCursor.decode(page.nextCursor()));
+        assertNull(PageCursor.page(ids(2), 2, this::position).nextCursor());
+    }
+
+    @Test
+    void refusesLimitsOutOfRange() {
+        assertThrows(BadRequestException.class, () -> PageCursor.fetch(0));
+        assertThrows(BadRequestException.class, () -> PageCursor.fetch(PageCursor.MAX_LIMIT + 1));
+    }
+
+    private PageCursor position(Long id) {
+        return new PageCursor(CREATED, id);
+    }
+
+    private static List<Long> ids(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(i -> (long) i).toList();
+    }
+}
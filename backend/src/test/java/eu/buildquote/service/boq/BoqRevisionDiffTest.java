@@ -0,0 +1,139 @@
+package eu.buildquote.service.boq;
+
+import eu.buildquote.dto.boq.ParsedBoqItemDto;
+import eu.buildquote.entity.BoqItem;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BoqRevisionDiffTest {
+
+    @Test
+    void matchesItemsOfTheSameSheet() {
+        List<BoqItem> items = List.of(
+                item(1L, "Ehitus", "1.1", "Betoon C30/37", "12"),
+                item(2L, "Ehitus", "1.2", "Armatuur", "400"),
+                item(3L, "Viimistlus", "1.1", "Krohv", "80"));
+        List<ParsedBoqItemDto> rows = List.of(
+                row("Ehitus", "1.1", "Betoon C30/37", "15"),
+                row("Ehitus", "1.2", "Armatuur", "400"),
+                row("Viimistlus", "1.1", "Krohv", "80"));
+
+        BoqRevisionDiff diff = BoqRevisionDiff.compute(items, rows);
+
+        assertEquals(List.of(), diff.deletes());
+        assertEquals(List.of(), diff.inserts());
+        assertEquals(List.of(1L), updatedIds(diff));
+        assertEquals(2, diff.unchanged());
+    }
+
+    @Test
+    void keepsSheetsApartWhenBothSidesHaveThem() {
+        List<BoqItem> items = List.of(
+                item(1L, "Ehitus", "1.1", "Betoon", "12"),
+                item(2L, "Viimistlus", "1.1", "Betoon", "5"));
+        List<ParsedBoqItemDto> rows = List.of(
+                row("Viimistlus", "1.1", "Betoon", "5"),
+                row("Ehitus", "1.1", "Betoon", "12"));
+
+        BoqRevisionDiff diff = BoqRevisionDiff.compute(items, rows);
+
+        assertEquals(List.of(), diff.deletes());
+        assertEquals(List.of(), diff.updates());
+        assertEquals(2, diff.unchanged());
+    }
+
+    @Test
+    void matchesItemsOfARenamedSheet() {
+        List<BoqItem> items = List.of(
+                item(1L, "Sheet1", "1.1", "Betoon C30/37", "12"),
+                item(2L, "Sheet1", "", "Raketis", "30"));
+        List<ParsedBoqItemDto> rows = List.of(
+                row("Ehitus", "1.1", "Betoon C30/37", "12"),
+                row("Ehitus", "", "Raketis", "30"));
+
+        BoqRevisionDiff diff = BoqRevisionDiff.compute(items, rows);
+
+        assertEquals(List.of(), diff.deletes());
+        assertEquals(List.of(), diff.inserts());
+        assertEquals(List.of(1L, 2L), updatedIds(diff));
+        assertEquals("Ehitus", diff.updates().get(0).row().getSheetName());
+    }
+
+    @Test
+    void matchesItemsSavedWithoutSheet() {
+        // Items imported before sheets were recorded have none
+        List<BoqItem> items = List.of(
+                item(1L, null, "1", "Kaevetööd", "100"),
+                item(2L, null, "2", "Vundament", "20"));
+        List<ParsedBoqItemDto> rows = List.of(
+                row("Ehitus", "1", "Kaevetööd", "100"),
+                row("Ehitus", "2", "Vundament", "25"));
+
+        BoqRevisionDiff diff = BoqRevisionDiff.compute(items, rows);
+
+        assertEquals(List.of(), diff.deletes());
+        assertEquals(List.of(), diff.inserts());
+        assertEquals(List.of(1L, 2L), updatedIds(diff));
+    }
+
+    @Test
+    void matchesCsvItemsFromAWorkbookAndBack() {
+        List<BoqItem> csvItems = List.of(
+                item(1L, null, "1", "Kaevetööd", "100"),
+                item(2L, null, null, "Vundament", "20"));
+        List<ParsedBoqItemDto> xlsxRows = List.of(
+                row("Leht1", "1", "Kaevetööd", "100"),
+                row("Leht1", null, "Vundament", "20"),
+                row("Leht2", "1", "Katus", "60"));
+
+        BoqRevisionDiff toXlsx = BoqRevisionDiff.compute(csvItems, xlsxRows);
+
+        assertEquals(List.of(), toXlsx.deletes());
+        assertEquals(List.of(1L, 2L), updatedIds(toXlsx));
+        assertEquals(List.of("Katus"), toXlsx.inserts().stream().map(ParsedBoqItemDto::getDescription).toList());
+
+        List<BoqItem> xlsxItems = List.of(
+                item(1L, "Leht1", "1", "Kaevetööd", "100"),
+                item(2L, "Leht1", null, "Vundament", "20"));
+        List<ParsedBoqItemDto> csvRows = List.of(
+                row(null, "1", "Kaevetööd", "100"),
+                row(null, null, "Vundament", "20"));
+
+        BoqRevisionDiff toCsv = BoqRevisionDiff.compute(xlsxItems, csvRows);
+
+        assertEquals(List.of(), toCsv.deletes());
+        assertEquals(List.of(), toCsv.inserts());
+        assertEquals(List.of(1L, 2L), updatedIds(toCsv));
+    }
+
+    @Test
+    void deletesItemsThatAreGone() {
+        List<BoqItem> items = List.of(
+                item(1L, "Ehitus", "1.1", "Betoon", "12"),
+                item(2L, "Ehitus", "1.2", "Armatuur", "400"));
+        List<ParsedBoqItemDto> rows = List.of(row("Ehitus", "1.1", "Betoon", "12"));
+
+        BoqRevisionDiff diff = BoqRevisionDiff.compute(items, rows);
+
+        assertEquals(List.of(2L), diff.deletes());
+        assertEquals(1, diff.unchanged());
+    }
+
+    private static List<Long> updatedIds(BoqRevisionDiff diff) {
+        return diff.updates().stream().map(BoqRevisionDiff.Update::itemId).sorted().toList();
+    }
+
+    private static BoqItem item(Long id, String sheet, String number, String description, String quantity) {
+        return BoqItem.builder().id(id).sheetName(sheet).itemNumber(number).description(description)
+                .quantity(new BigDecimal(quantity)).unit("m3").build();
+    }
+
+    private static ParsedBoqItemDto row(String sheet, String number, String description, String quantity) {
+        return ParsedBoqItemDto.builder().sheetName(sheet).itemNumber(number).description(description)
+                .quantity(new BigDecimal(quantity)).unit("m3").build();
+    }
+}
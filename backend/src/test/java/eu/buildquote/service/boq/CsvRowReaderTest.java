@@ -0,0 +1,137 @@
+package eu.buildquote.service.boq;
+
+import eu.buildquote.config.BoqConfig;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvRowReaderTest {
+
+    private static final CSVFormat FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setTrim(true)
+            .build();
+
+    @Test
+    void readsSmallFilesLikeCommonsCsv() throws IOException {
+        Path file = csv("﻿Nr, Kirjeldus ,Kogus\r\n1,\"Betoon, \"\"C30\"\"\",12\r\n\r\n2,  Armatuur  ,\"3,5\"\n");
+
+        assertEquals(commonsCsv(file, null), read(reader(1), file, null, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void splitsLargeFilesOnlyBetweenRecords() throws IOException {
+        // Every record is mostly a quoted field full of line breaks, so the chunk boundaries the reader aims
+        // for land inside one and have to be moved to the end of the record. ASCII only, so chars are bytes.
+        StringBuilder content = new StringBuilder("Nr,Kirjeldus,Uhik,Kogus\n");
+        String description = "\"Monoliitbetoon, \"\"C30/37\"\"\n" + "vundamendid ja seinad\n".repeat(20) + "\"";
+        int headerLength = content.length();
+        int record = 0;
+        while (content.length() < 3 * CsvRowReader.PARALLEL_THRESHOLD_BYTES) {
+            content.append(record).append(',').append(description).append(",m3,").append(record % 100).append(",5\n");
+            record++;
+        }
+        Path file = csv(content.toString());
+        int firstLineBreak = content.indexOf("\n", headerLength + CsvRowReader.CHUNK_SIZE_BYTES - 1);
+        long quotesBefore = content.substring(headerLength, firstLineBreak).chars().filter(c -> c == '"').count();
+        assertTrue(quotesBefore % 2 == 1, "The first line break after the chunk target should be quoted");
+
+        List<String> expected = commonsCsv(file, null);
+        assertEquals(record + 1, expected.size());
+        for (int parallelism : new int[]{1, 4, 8}) {
+            CsvRowReader reader = reader(parallelism);
+            try {
+                assertEquals(expected, read(reader, file, null, Integer.MAX_VALUE), "parallelism " + parallelism);
+            } finally {
+                reader.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void numbersRowsAcrossChunksAndStopsWhenAsked() throws IOException {
+        StringBuilder content = new StringBuilder("Nr,Kirjeldus,Kogus\n");
+        int record = 0;
+        while (content.length() < 2 * CsvRowReader.PARALLEL_THRESHOLD_BYTES + CsvRowReader.CHUNK_SIZE_BYTES) {
+            content.append(record).append(",\"Rida\n").append(record).append("\",").append(record).append('\n');
+            record++;
+        }
+        Path file = csv(content.toString());
+        BitSet columns = new BitSet();
+        columns.set(0);
+        CsvRowReader reader = reader(4);
+        try {
+            List<String> all = read(reader, file, columns, Integer.MAX_VALUE);
+            assertEquals(commonsCsv(file, columns), all);
+            assertEquals((record + 1) + " [" + (record - 1) + ", , ]", all.get(all.size() - 1));
+
+            assertEquals(all.subList(0, 1_001), read(reader, file, columns, 1_000));
+        } finally {
+            reader.shutdown();
+        }
+    }
+
+    private static CsvRowReader reader(int parallelism) {
+        BoqConfig config = new BoqConfig();
+        config.setParseParallelism(parallelism);
+        return new CsvRowReader(config);
+    }
+
+    /** The header and up to {@code maxRows} rows as passed to the handler, each prefixed with its row number. */
+    private static List<String> read(CsvRowReader reader, Path file, BitSet columns, int maxRows) throws IOException {
+        List<String> lines = new ArrayList<>();
+        reader.read(file, new BoqRowHandler() {
+            @Override
+            public void header(List<String> headers) {
+                lines.add("1 " + headers);
+            }
+
+            @Override
+            public BitSet columns() {
+                return columns;
+            }
+
+            @Override
+            public boolean row(int rowNumber, List<String> cells) {
+                lines.add(rowNumber + " " + cells);
+                return lines.size() <= maxRows;
+            }
+        });
+        return lines;
+    }
+
+    private static List<String> commonsCsv(Path file, BitSet columns) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (CSVParser parser = CSVParser.parse(file, StandardCharsets.UTF_8, FORMAT)) {
+            lines.add("1 " + parser.getHeaderNames());
+            int rowNumber = 2;
+            for (CSVRecord record : parser) {
+                List<String> cells = new ArrayList<>();
+                for (int i = 0; i < record.size(); i++) {
+                    cells.add(columns == null || columns.get(i) ? record.get(i) : "");
+                }
+                lines.add(rowNumber++ + " " + cells);
+            }
+        }
+        return lines;
+    }
+
+    private static Path csv(String content) throws IOException {
+        Path file = Files.createTempFile("boq-", ".csv");
+        file.toFile().deleteOnExit();
+        return Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,91 @@
+package eu.buildquote.service.boq;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvTokenizerTest {
+
+    private static final CSVFormat FORMAT = CSVFormat.DEFAULT.builder().setTrim(true).build();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "1,2",
+            "1,\n",
+            "1,",
+            "\n\n1,2\r\n\r\n3,4\r\n",
+            "1,2\r3,4",
+            "\" q , \"\" w \",12\" toru\n\"\",\"\"\n",
+            "3,\"x\"\"y\"\" \"  ,z\n",
+            "\"mitu\nrida, \"\"tsitaat\"\"\",m2\n",
+            "  õäö \"ü\" ,ž\n",
+            "a,,,b\n",
+    })
+    void readsRecordsLikeCommonsCsv(String csv) throws IOException {
+        assertEquals(commonsCsv(csv), records(csv, null));
+    }
+
+    @Test
+    void decodesOnlyTheRequestedColumns() throws IOException {
+        BitSet columns = new BitSet();
+        columns.set(1);
+
+        assertEquals(List.of(List.of("", "Betoon, \"C30\"", ""), List.of("", "Armatuur", "")),
+                records("1,\"Betoon, \"\"C30\"\"\",m3\n2,Armatuur,t\n", columns));
+    }
+
+    @Test
+    void readsOnlyItsRange() throws IOException {
+        byte[] bytes = "1,Betoon\n2,Armatuur\n3,Raketis\n".getBytes(StandardCharsets.UTF_8);
+        CsvTokenizer tokenizer = new CsvTokenizer(ByteBuffer.wrap(bytes), 9, 20);
+
+        assertEquals(List.of("2", "Armatuur"), tokenizer.next(null));
+        assertNull(tokenizer.next(null));
+        assertEquals(20, tokenizer.position());
+    }
+
+    @Test
+    void rejectsAnUnterminatedQuote() {
+        assertThrows(IOException.class, () -> records("1,\"Betoon\n2,Armatuur\n", null));
+    }
+
+    @Test
+    void rejectsTextAfterAClosingQuote() {
+        assertThrows(IOException.class, () -> records("1,\"Betoon\"x,m3\n", null));
+    }
+
+    private static List<List<String>> records(String csv, BitSet columns) throws IOException {
+        byte[] bytes = csv.getBytes(StandardCharsets.UTF_8);
+        CsvTokenizer tokenizer = new CsvTokenizer(ByteBuffer.wrap(bytes), 0, bytes.length);
+        List<List<String>> records = new ArrayList<>();
+        List<String> cells;
+        while ((cells = tokenizer.next(columns)) != null) {
+            records.add(cells);
+        }
+        return records;
+    }
+
+    private static List<List<String>> commonsCsv(String csv) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CSVParser parser = CSVParser.parse(csv, FORMAT)) {
+            for (CSVRecord record : parser) {
+                records.add(record.toList());
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,87 @@
+package eu.buildquote.service.boq;
+
+import eu.buildquote.config.BoqConfig;
+import eu.buildquote.entity.FileBlob;
+import eu.buildquote.repository.FileBlobRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class FileBlobStoreTest {
+
+    @Autowired
+    private FileBlobStore fileBlobStore;
+
+    @Autowired
+    private FileBlobRepository fileBlobRepository;
+
+    @Autowired
+    private BoqConfig boqConfig;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void countsReferencesToOneBlob() throws IOException {
+        Path file = tempFile("Nr;Kirjeldus\n1;Betoon\n" + UUID.randomUUID());
+        String sha256 = fileBlobStore.hash(file);
+
+        fileBlobStore.retain(sha256, file);
+        fileBlobStore.retain(sha256, file);
+
+        FileBlob blob = reload(sha256);
+        assertEquals(2, blob.getRefCount());
+        assertEquals(Files.size(file), blob.getSize());
+        assertTrue(blob.getStoredSize() > 0);
+        assertEquals(Files.readString(file), restore(sha256));
+    }
+
+    @Test
+    void writesTheBlobAgainWhenItIsMissingFromDisk() throws IOException {
+        Path file = tempFile("Nr;Kirjeldus\n2;Armatuur\n" + UUID.randomUUID());
+        String sha256 = fileBlobStore.hash(file);
+        fileBlobStore.retain(sha256, file);
+        Files.delete(boqConfig.getBlobDirectory().resolve(sha256.substring(0, 2)).resolve(sha256 + ".gz"));
+
+        fileBlobStore.retain(sha256, file);
+
+        assertEquals(2, reload(sha256).getRefCount());
+        assertEquals(Files.readString(file), restore(sha256));
+    }
+
+    private FileBlob reload(String sha256) {
+        entityManager.flush();
+        entityManager.clear();
+        return fileBlobRepository.findById(sha256).orElseThrow();
+    }
+
+    private String restore(String sha256) throws IOException {
+        Path restored = fileBlobStore.restore(sha256, "csv").orElseThrow();
+        try {
+            return Files.readString(restored);
+        } finally {
+            Files.delete(restored);
+        }
+    }
+
+    private static Path tempFile(String content) throws IOException {
+        Path file = Files.createTempFile("blob-test-", ".csv");
+        file.toFile().deleteOnExit();
+        return Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,78 @@
+package eu.buildquote.service.boq;
+
+import eu.buildquote.dto.boq.ColumnMappingDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HeaderMatcherTest {
+
+    private final HeaderMatcher matcher = new HeaderMatcher();
+
+    @Test
+    void matchesExactAliasesWithFullConfidence() {
+        List<ColumnMappingDto> mappings = matcher.match(List.of("Nr", "Kirjeldus", "Kogus", "Ühik"));
+
+        assertEquals(Map.of("item_number", 0, "description", 1, "quantity", 2, "unit", 3), columns(mappings));
+        mappings.forEach(mapping -> assertEquals(1.0, mapping.getConfidence()));
+    }
+
+    @Test
+    void matchesAliasesContainedInLongerHeaders() {
+        Map<String, ColumnMappingDto> mappings = byField(matcher.match(
+                List.of("Jrk nr.", "Töö kirjeldus (EST)", "Kogus m3", "Mõõtühik")));
+
+        assertEquals(0, mappings.get("item_number").getColumnIndex());
+        assertEquals(0.9, mappings.get("description").getConfidence());
+        assertEquals(0.9, mappings.get("quantity").getConfidence());
+        assertEquals(1.0, mappings.get("unit").getConfidence());
+    }
+
+    @Test
+    void matchesMisspeltHeaders() {
+        Map<String, ColumnMappingDto> mappings = byField(matcher.match(List.of("No.", "Kirjeldsu", "Qnty", "Ühk")));
+
+        assertEquals(Map.of("item_number", 0, "description", 1, "quantity", 2, "unit", 3),
+                columns(List.copyOf(mappings.values())));
+        assertEquals(1 - 2 / 9.0, mappings.get("description").getConfidence(), 1e-9);
+        assertEquals(0.75, mappings.get("quantity").getConfidence(), 1e-9);
+        assertEquals(0.75, mappings.get("unit").getConfidence(), 1e-9);
+    }
+
+    @Test
+    void matchesMisspeltHeadersSharingNoTrigramWithTheirAlias() {
+        // "qnty"/"qty" and "uhk"/"uhik" have no three characters in a row in common
+        assertEquals(Map.of("quantity", 0), columns(matcher.match(List.of("Qnty"))));
+        assertEquals(Map.of("unit", 0), columns(matcher.match(List.of("Ühk"))));
+        assertEquals(Map.of("description", 0), columns(matcher.match(List.of("Descriptoin"))));
+    }
+
+    @Test
+    void keepsTheBestColumnPerFieldAndListsAlternatives() {
+        Map<String, ColumnMappingDto> mappings = byField(matcher.match(List.of("Koguss", "Kogus", "Ühik")));
+
+        assertEquals(1, mappings.get("quantity").getColumnIndex());
+        assertEquals(List.of("Koguss"), mappings.get("quantity").getAlternativeHeaders());
+        assertEquals(2, mappings.get("unit").getColumnIndex());
+    }
+
+    @Test
+    void normalizesCaseDiacriticsAndPunctuation() {
+        assertEquals("tooo kirjeldus m3", HeaderMatcher.normalize("  Tööö-Kirjeldus (m3)"));
+        assertEquals("jrk nr", HeaderMatcher.normalize("Jrk. nr."));
+        assertEquals("", HeaderMatcher.normalize(null));
+    }
+
+    private static Map<String, Integer> columns(List<ColumnMappingDto> mappings) {
+        return mappings.stream().collect(Collectors.toMap(ColumnMappingDto::getTargetField,
+                ColumnMappingDto::getColumnIndex));
+    }
+
+    private static Map<String, ColumnMappingDto> byField(List<ColumnMappingDto> mappings) {
+        return mappings.stream().collect(Collectors.toMap(ColumnMappingDto::getTargetField, mapping -> mapping));
+    }
+}
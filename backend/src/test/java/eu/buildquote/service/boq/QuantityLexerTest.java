@@ -0,0 +1,53 @@
+package eu.buildquote.service.boq;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QuantityLexerTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "12|12",
+            "12,5|12.5",
+            "12.50|12.50",
+            "0,001|0.001",
+            ".5|0.5",
+            "12.|12",
+            "1 234,5|1234.5",
+            "1 234,5|1234.5",
+            "1 234,5|1234.5",
+            "1'000.25|1000.25",
+            "1.234.567,8|1234567.8",
+            "1,234,567.8|1234567.8",
+            "1,234,567|1234567",
+            "12 5|125",
+            "1 234,50 m2|1234.50",
+            "12 m2|12",
+            "5,5m³|5.5",
+            "-3|-3",
+            "−3,5|-3.5",
+            "+7|7",
+            "'  42  '|42",
+    })
+    void parsesQuantities(String text, String expected) {
+        assertEquals(new BigDecimal(expected), QuantityLexer.parse(text));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "   ", " "})
+    void readsBlankCellsAsZero(String text) {
+        assertEquals(BigDecimal.ZERO, QuantityLexer.parse(text));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"abc", "-", "m2 12", "1.2,3.4", "1234567890123456789"})
+    void rejectsCellsThatAreNotAQuantity(String text) {
+        assertThrows(NumberFormatException.class, () -> QuantityLexer.parse(text));
+    }
+}
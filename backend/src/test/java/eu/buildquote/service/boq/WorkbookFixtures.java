@@ -0,0 +1,174 @@
+package eu.buildquote.service.boq;
+
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Workbooks for the XLS and XLSX reader tests, and the usermodel (DOM) reading that
+ * {@code BoqParserService} did before the event readers, as the output they must reproduce.
+ */
+final class WorkbookFixtures {
+
+    private WorkbookFixtures() {
+    }
+
+    @FunctionalInterface
+    interface Reader {
+        void read(Path file, SheetHandlerFactory handlers) throws IOException;
+    }
+
+    /**
+     * Fills the workbook with a first sheet holding every kind of cell a BoQ export has: text with padding,
+     * whole and fractional numbers, a date, numeric and string formulas, a boolean, gaps between cells and
+     * rows, and a blank row. A second sheet must not leak into the first.
+     */
+    static Path write(Workbook workbook, String suffix) throws IOException {
+        Sheet sheet = workbook.createSheet("Ehitus");
+        CellStyle dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+
+        Row header = sheet.createRow(0);
+        header.createCell(0).setCellValue("Nr");
+        header.createCell(1).setCellValue("Kirjeldus");
+        header.createCell(3).setCellValue("Kogus");
+        header.createCell(4).setCellValue("Ühik");
+
+        Row row = sheet.createRow(1);
+        row.createCell(0).setCellValue(1);
+        row.createCell(1).setCellValue("Betoon C30/37  ");
+        row.createCell(3).setCellValue(12.5);
+        row.createCell(4).setCellValue("m3");
+
+        row = sheet.createRow(3);
+        row.createCell(0).setCellValue("1.2");
+        row.createCell(1).setCellValue("Armatuur");
+        row.createCell(3).setCellFormula("2*3");
+        Cell date = row.createCell(4);
+        date.setCellValue(45000.0);
+        date.setCellStyle(dateStyle);
+        row.createCell(5).setCellValue(true);
+
+        row = sheet.createRow(4);
+        row.createCell(1).setCellFormula("\"Raketis \"&\"seinad\"");
+        row.createCell(3).setCellValue(1234567.25);
+        row.createCell(4).setCellValue("m2");
+
+        sheet.createRow(5).createCell(2);
+
+        row = sheet.createRow(6);
+        row.createCell(0).setCellValue("2");
+        row.createCell(1).setCellValue("Ühendatud lahter");
+        row.createCell(3).setCellValue(-3);
+        sheet.addMergedRegion(new CellRangeAddress(6, 6, 1, 2));
+
+        workbook.createSheet("Lisa").createRow(0).createCell(0).setCellValue("Muu");
+        workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+
+        Path file = Files.createTempFile("boq-", suffix);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            workbook.write(out);
+        } finally {
+            workbook.close();
+        }
+        return file;
+    }
+
+    /**
+     * The header and non-blank rows of the first sheet as read through the usermodel, one line per row
+     * prefixed with its 1-based row number.
+     */
+    static List<String> baseline(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (InputStream in = Files.newInputStream(file); Workbook workbook = WorkbookFactory.create(in)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            List<String> headers = new ArrayList<>();
+            Row header = sheet.getRow(0);
+            for (int i = 0; i < header.getLastCellNum(); i++) {
+                headers.add(cellValue(header.getCell(i)));
+            }
+            lines.add("1 " + headers);
+
+            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
+                Row row = sheet.getRow(i);
+                if (row == null) continue;
+                List<String> cells = new ArrayList<>();
+                for (int j = 0; j < Math.max(row.getLastCellNum(), headers.size()); j++) {
+                    cells.add(cellValue(row.getCell(j)));
+                }
+                if (!cells.stream().allMatch(String::isBlank)) {
+                    lines.add((i + 1) + " " + cells);
+                }
+            }
+        }
+        return lines;
+    }
+
+    /** The header and non-blank rows the reader passes for the first sheet, in the format of {@link #baseline}. */
+    static List<String> firstSheet(Reader reader, Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        reader.read(file, (sheetIndex, sheetName) -> sheetIndex > 0 ? skip() : new BoqRowHandler() {
+            @Override
+            public void header(List<String> headers) {
+                lines.add("1 " + headers);
+            }
+
+            @Override
+            public boolean row(int rowNumber, List<String> cells) {
+                if (!cells.stream().allMatch(String::isBlank)) {
+                    lines.add(rowNumber + " " + cells);
+                }
+                return true;
+            }
+        });
+        return lines;
+    }
+
+    static BoqRowHandler skip() {
+        return new BoqRowHandler() {
+            @Override
+            public void header(List<String> headers) {
+            }
+
+            @Override
+            public boolean row(int rowNumber, List<String> cells) {
+                return false;
+            }
+        };
+    }
+
+    /** Cell text as {@code BoqParserService.getCellValueAsString} produced it. */
+    private static String cellValue(Cell cell) {
+        if (cell == null) return "";
+
+        return switch (cell.getCellType()) {
+            case STRING -> cell.getStringCellValue();
+            case NUMERIC -> {
+                if (DateUtil.isCellDateFormatted(cell)) {
+                    yield cell.getLocalDateTimeCellValue().toString();
+                }
+                double numValue = cell.getNumericCellValue();
+                if (numValue == Math.floor(numValue)) {
+                    yield String.valueOf((long) numValue);
+                }
+                yield String.valueOf(numValue);
+            }
+            case BOOLEAN -> String.valueOf(cell.getBooleanCellValue());
+            case FORMULA -> {
+                try {
+                    yield String.valueOf(cell.getNumericCellValue());
+                } catch (Exception e) {
+                    yield cell.getStringCellValue();
+                }
+            }
+            default -> "";
+        };
+    }
+}
@@ -0,0 +1,101 @@
+package eu.buildquote.service.boq;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class XlsRowReaderTest {
+
+    private final XlsRowReader reader = new XlsRowReader();
+
+    @Test
+    void readsTheSameCellsAsTheWorkbookModel() throws IOException {
+        Path file = WorkbookFixtures.write(new HSSFWorkbook(), ".xls");
+
+        assertEquals(WorkbookFixtures.baseline(file), WorkbookFixtures.firstSheet(reader::read, file));
+    }
+
+    @Test
+    void readsTheSameCellsAsTheXlsxReaderForTheSameWorkbook() throws IOException {
+        Path xls = WorkbookFixtures.write(new HSSFWorkbook(), ".xls");
+        Path xlsx = WorkbookFixtures.write(new XSSFWorkbook(), ".xlsx");
+
+        assertEquals(WorkbookFixtures.firstSheet(new XlsxRowReader()::read, xlsx),
+                WorkbookFixtures.firstSheet(reader::read, xls));
+    }
+
+    @Test
+    void readsManyRowsInOrder() throws IOException {
+        // Enough rows for the sheet to span several row blocks and the strings several SST continue records
+        Path file = Files.createTempFile("boq-", ".xls");
+        try (HSSFWorkbook workbook = new HSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet();
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Kirjeldus");
+            header.createCell(1).setCellValue("Kogus");
+            for (int i = 1; i <= 5_000; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("Monoliitbetoon rida " + i);
+                row.createCell(1).setCellValue(i * 1.25);
+            }
+            workbook.write(out);
+        }
+
+        List<String> lines = WorkbookFixtures.firstSheet(reader::read, file);
+
+        assertEquals(5_001, lines.size());
+        assertEquals(WorkbookFixtures.baseline(file), lines);
+    }
+
+    @Test
+    void givesEachSheetItsOwnHandler() throws IOException {
+        Path file = WorkbookFixtures.write(new HSSFWorkbook(), ".xls");
+        List<String> sheets = new ArrayList<>();
+
+        reader.read(file, (sheetIndex, sheetName) -> {
+            sheets.add(sheetIndex + " " + sheetName);
+            return WorkbookFixtures.skip();
+        });
+
+        assertEquals(List.of("0 Ehitus", "1 Lisa"), sheets);
+    }
+
+    @Test
+    void stopsWhenTheHandlerDeclinesFurtherRows() throws IOException {
+        Path file = WorkbookFixtures.write(new HSSFWorkbook(), ".xls");
+        AtomicInteger rows = new AtomicInteger();
+
+        reader.read(file, (sheetIndex, sheetName) -> sheetIndex > 0 ? WorkbookFixtures.skip() : new BoqRowHandler() {
+            @Override
+            public void header(List<String> headers) {
+            }
+
+            @Override
+            public boolean row(int rowNumber, List<String> cells) {
+                return rows.incrementAndGet() < 2;
+            }
+        });
+
+        assertEquals(2, rows.get());
+    }
+
+    @Test
+    void rejectsFilesThatAreNotWorkbooks() throws IOException {
+        Path file = Files.writeString(Files.createTempFile("boq-", ".xls"), "Nr,Kirjeldus\n1,Betoon\n");
+
+        assertThrows(IOException.class, () -> reader.read(file, (sheetIndex, sheetName) -> WorkbookFixtures.skip()));
+    }
+}
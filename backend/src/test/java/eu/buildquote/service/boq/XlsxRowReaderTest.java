@@ -0,0 +1,103 @@
+package eu.buildquote.service.boq;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class XlsxRowReaderTest {
+
+    private final XlsxRowReader reader = new XlsxRowReader();
+
+    @Test
+    void readsTheSameCellsAsTheWorkbookModel() throws IOException {
+        Path file = WorkbookFixtures.write(new XSSFWorkbook(), ".xlsx");
+
+        assertEquals(WorkbookFixtures.baseline(file), WorkbookFixtures.firstSheet(reader::read, file));
+    }
+
+    @Test
+    void readsRowsWrittenByTheStreamingWriter() throws IOException {
+        // SXSSF writes inline strings instead of shared ones
+        Path file = Files.createTempFile("boq-", ".xlsx");
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100); OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet();
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Kirjeldus");
+            header.createCell(1).setCellValue("Kogus");
+            for (int i = 1; i <= 1_000; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("Rida " + i);
+                row.createCell(1).setCellValue(i * 1.5);
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+
+        List<String> lines = WorkbookFixtures.firstSheet(reader::read, file);
+
+        assertEquals(1_001, lines.size());
+        assertEquals(WorkbookFixtures.baseline(file), lines);
+    }
+
+    @Test
+    void givesEachSheetItsOwnHandler() throws IOException {
+        Path file = WorkbookFixtures.write(new XSSFWorkbook(), ".xlsx");
+        Map<String, Integer> rowsBySheet = new ConcurrentHashMap<>();
+
+        reader.read(file, (sheetIndex, sheetName) -> new BoqRowHandler() {
+            @Override
+            public void header(List<String> headers) {
+                rowsBySheet.put(sheetIndex + " " + sheetName, 0);
+            }
+
+            @Override
+            public boolean row(int rowNumber, List<String> cells) {
+                rowsBySheet.merge(sheetIndex + " " + sheetName, 1, Integer::sum);
+                return true;
+            }
+        });
+
+        assertEquals(0, rowsBySheet.get("1 Lisa"));
+        assertEquals(List.of("0 Ehitus", "1 Lisa"), rowsBySheet.keySet().stream().sorted().toList());
+    }
+
+    @Test
+    void stopsWhenTheHandlerDeclinesFurtherRows() throws IOException {
+        Path file = WorkbookFixtures.write(new XSSFWorkbook(), ".xlsx");
+        AtomicInteger rows = new AtomicInteger();
+
+        reader.read(file, (sheetIndex, sheetName) -> sheetIndex > 0 ? WorkbookFixtures.skip() : new BoqRowHandler() {
+            @Override
+            public void header(List<String> headers) {
+            }
+
+            @Override
+            public boolean row(int rowNumber, List<String> cells) {
+                return rows.incrementAndGet() < 2;
+            }
+        });
+
+        assertEquals(2, rows.get());
+    }
+
+    @Test
+    void rejectsFilesThatAreNotWorkbooks() throws IOException {
+        Path file = Files.writeString(Files.createTempFile("boq-", ".xlsx"), "Nr,Kirjeldus\n1,Betoon\n");
+
+        assertThrows(IOException.class, () -> reader.read(file, (sheetIndex, sheetName) -> WorkbookFixtures.skip()));
+    }
+}
@@ -1,12 +1,23 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
-import { Observable } from 'rxjs';
+import { HttpClient, HttpParams } from '@angular/common/http';
+import { Observable, map } from 'rxjs';
+
+/** One page of a cursor-paginated list. nextCursor is null on the last page. */
+export interface Page<T> {
+  items: T[];
+  nextCursor: string | null;
+}
+
+export type QueryParams = Record<string, string | number | boolean | null | undefined>;
 
 @Injectable({
   providedIn: 'root'
 })
 export class ApiService {
   private readonly baseUrl = '/api/v1';
+  private readonly nextCursorHeader = 'X-Next-Cursor';
+  // Without a limit the server returns the whole list
+  private readonly pageSize = 100;
 
   constructor(private http: HttpClient) {}
 
@@ -14,6 +25,25 @@ export class ApiService {
     return this.http.get<T>(`${this.baseUrl}${path}`);
   }
 
+  /**
+   * Fetches one page of a cursor-paginated list, of 100 items unless params set a limit. Params that are
+   * null or undefined are left out, so unset filters can be passed as they are.
+   */
+  getPage<T>(path: string, params: QueryParams = {}, cursor?: string | null): Observable<Page<T>> {
+    let httpParams = new HttpParams();
+    for (const [name, value] of Object.entries({ limit: this.pageSize, ...params, cursor })) {
+      if (value !== null && value !== undefined && value !== '') {
+        httpParams = httpParams.set(name, String(value));
+      }
+    }
+    return this.http.get<T[]>(`${this.baseUrl}${path}`, { observe: 'response', params: httpParams }).pipe(
+      map(response => ({
+        items: response.body ?? [],
+        nextCursor: response.headers.get(this.nextCursorHeader)
+      }))
+    );
+  }
+
   post<T>(path: string, body: unknown): Observable<T> {
     return this.http.post<T>(`${this.baseUrl}${path}`, body);
   }
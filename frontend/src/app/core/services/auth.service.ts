@@ -35,6 +35,10 @@ export class AuthService {
   }
 
   logout(): void {
+    if (this.getToken()) {
+      // Revoke the token server-side; the interceptor attaches it before it is cleared below
+      this.api.post<void>('/auth/logout', {}).subscribe({ error: () => {} });
+    }
     localStorage.removeItem(this.TOKEN_KEY);
     localStorage.removeItem(this.USER_KEY);
     this._currentUser.set(null);
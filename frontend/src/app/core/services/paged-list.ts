@@ -0,0 +1,42 @@
+import { computed, signal } from '@angular/core';
+import { Observable, Subscription } from 'rxjs';
+import { Page } from './api.service';
+
+/**
+ * A cursor-paginated list shown one page at a time: {@link reload} replaces the items with the first page
+ * and {@link loadMore} appends the next one.
+ */
+export class PagedList<T> {
+  private readonly nextCursor = signal<string | null>(null);
+  private request?: Subscription;
+
+  readonly items = signal<T[]>([]);
+  readonly loading = signal(false);
+  readonly hasMore = computed(() => this.nextCursor() !== null);
+
+  constructor(private readonly fetch: (cursor: string | null) => Observable<Page<T>>) {}
+
+  reload(): void {
+    this.load(null, []);
+  }
+
+  loadMore(): void {
+    if (this.hasMore() && !this.loading()) {
+      this.load(this.nextCursor(), this.items());
+    }
+  }
+
+  private load(cursor: string | null, loaded: T[]): void {
+    // A reload overtakes a page still in flight, e.g. after a filter change
+    this.request?.unsubscribe();
+    this.loading.set(true);
+    this.request = this.fetch(cursor).subscribe({
+      next: (page) => {
+        this.items.set(loaded.concat(page.items));
+        this.nextCursor.set(page.nextCursor);
+        this.loading.set(false);
+      },
+      error: () => this.loading.set(false)
+    });
+  }
+}
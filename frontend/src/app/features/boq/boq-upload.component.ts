@@ -539,8 +539,6 @@ export class BoqUploadComponent {
   confirmedMappings = signal<Record<string, number>>({});
   availableHeaders = signal<{ index: number; name: string }[]>([]);
 
-  private uploadedFile: File | null = null;
-
   private readonly fieldLabels: Record<string, string> = {
     'item_number': 'Item Number',
     'description': 'Description',
@@ -585,7 +583,6 @@ export class BoqUploadComponent {
       return;
     }
 
-    this.uploadedFile = file;
     this.isUploading.set(true);
     this.uploadProgress.set(0);
     this.error.set(null);
@@ -651,12 +648,11 @@ export class BoqUploadComponent {
 
   confirmMappings(): void {
     const result = this.uploadResult();
-    if (!result || !this.uploadedFile) return;
+    if (!result) return;
 
     this.isConfirming.set(true);
 
     const formData = new FormData();
-    formData.append('file', this.uploadedFile);
     formData.append('boqId', result.boqId.toString());
     formData.append('columnMappings', JSON.stringify(this.confirmedMappings()));
 
@@ -679,7 +675,6 @@ export class BoqUploadComponent {
   cancelUpload(): void {
     this.uploadResult.set(null);
     this.error.set(null);
-    this.uploadedFile = null;
   }
 
   getFieldLabel(field: string): string {
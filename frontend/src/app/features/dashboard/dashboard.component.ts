@@ -1,8 +1,7 @@
-import { Component, inject, signal, OnInit } from '@angular/core';
+import { Component, inject, signal, OnInit, WritableSignal } from '@angular/core';
 import { RouterLink } from '@angular/router';
-import { ApiService } from '../../core/services/api.service';
+import { ApiService, QueryParams } from '../../core/services/api.service';
 import { AuthService } from '../../core/services/auth.service';
-import { Project, Supplier, RfqRequest } from '../../shared/models';
 
 @Component({
   selector: 'app-dashboard',
@@ -21,25 +20,25 @@ import { Project, Supplier, RfqRequest } from '../../shared/models';
 
       <div class="stats-grid">
         <div class="stat-card card">
-          <div class="stat-value">{{ projects().length }}</div>
+          <div class="stat-value">{{ projectCount() }}</div>
           <div class="stat-label">Projects</div>
           <a routerLink="/projects" class="stat-link">View all</a>
         </div>
 
         <div class="stat-card card">
-          <div class="stat-value">{{ suppliers().length }}</div>
+          <div class="stat-value">{{ supplierCount() }}</div>
           <div class="stat-label">Suppliers</div>
           <a routerLink="/suppliers" class="stat-link">View all</a>
         </div>
 
         <div class="stat-card card">
-          <div class="stat-value">{{ rfqs().length }}</div>
+          <div class="stat-value">{{ rfqCount() }}</div>
           <div class="stat-label">RFQs</div>
           <a routerLink="/quotes" class="stat-link">View all</a>
         </div>
 
         <div class="stat-card card">
-          <div class="stat-value">{{ activeProjects() }}</div>
+          <div class="stat-value">{{ activeProjectCount() }}</div>
           <div class="stat-label">Active Projects</div>
         </div>
       </div>
@@ -302,11 +301,13 @@ export class DashboardComponent implements OnInit {
   authService = inject(AuthService);
   private api = inject(ApiService);
 
-  projects = signal<Project[]>([]);
-  suppliers = signal<Supplier[]>([]);
-  rfqs = signal<RfqRequest[]>([]);
+  /** Counts are shown up to one page, as "100+" beyond it, so the dashboard never walks a whole list. */
+  private static readonly COUNT_LIMIT = 100;
 
-  activeProjects = signal(0);
+  projectCount = signal('0');
+  supplierCount = signal('0');
+  rfqCount = signal('0');
+  activeProjectCount = signal('0');
   demoDataLoaded = signal(false);
   demoLoading = signal(false);
   showSuccessToast = signal(false);
@@ -317,19 +318,15 @@ export class DashboardComponent implements OnInit {
   }
 
   private loadData(): void {
-    this.api.get<Project[]>('/projects').subscribe({
-      next: (projects) => {
-        this.projects.set(projects);
-        this.activeProjects.set(projects.filter(p => p.status === 'ACTIVE').length);
-      }
-    });
-
-    this.api.get<Supplier[]>('/suppliers').subscribe({
-      next: (suppliers) => this.suppliers.set(suppliers)
-    });
+    this.count('/projects', {}, this.projectCount);
+    this.count('/projects', { status: 'ACTIVE' }, this.activeProjectCount);
+    this.count('/suppliers', {}, this.supplierCount);
+    this.count('/rfq', {}, this.rfqCount);
+  }
 
-    this.api.get<RfqRequest[]>('/rfq').subscribe({
-      next: (rfqs) => this.rfqs.set(rfqs)
+  private count(path: string, params: QueryParams, target: WritableSignal<string>): void {
+    this.api.getPage<unknown>(path, { ...params, limit: DashboardComponent.COUNT_LIMIT }).subscribe({
+      next: (page) => target.set(`${page.items.length}${page.nextCursor ? '+' : ''}`)
     });
   }
 
@@ -2,7 +2,8 @@ import { Component, inject, signal, OnInit } from '@angular/core';
 import { ActivatedRoute, RouterLink } from '@angular/router';
 import { FormsModule } from '@angular/forms';
 import { ApiService } from '../../core/services/api.service';
-import { Project, BillOfQuantities, BoqItem, Supplier, RfqRequest, BoqUploadResponse } from '../../shared/models';
+import { PagedList } from '../../core/services/paged-list';
+import { Project, BillOfQuantities, BoqSummary, BoqItem, Supplier, RfqRequest, RfqStatus, BoqUploadResponse } from '../../shared/models';
 import { BoqUploadComponent } from '../boq/boq-upload.component';
 
 @Component({
@@ -57,7 +58,19 @@ import { BoqUploadComponent } from '../boq/boq-upload.component';
               <span class="upload-date">Uploaded: {{ formatDate(boq.uploadedAt) }}</span>
             </div>
 
+            <p class="boq-totals">
+              {{ boq.itemCount }} items
+              @for (total of unitTotals(boq); track total.unit) {
+                &middot; {{ total.quantity }} {{ total.unit }}
+              }
+            </p>
+
             <button class="btn btn-secondary" (click)="showItemForm.set(boq.id)">Add Item</button>
+            @if (boq.itemCount > 0) {
+              <button class="btn btn-secondary" (click)="toggleItems(boq.id)">
+                {{ boqItems()[boq.id] ? 'Hide Items' : 'Show Items' }}
+              </button>
+            }
 
             @if (showItemForm() === boq.id) {
               <div class="item-form">
@@ -98,7 +111,7 @@ import { BoqUploadComponent } from '../boq/boq-upload.component';
               </div>
             }
 
-            @if (boq.items?.length) {
+            @if (boqItems()[boq.id]; as itemList) {
               <table class="table">
                 <thead>
                   <tr>
@@ -111,7 +124,7 @@ import { BoqUploadComponent } from '../boq/boq-upload.component';
                   </tr>
                 </thead>
                 <tbody>
-                  @for (item of boq.items; track item.id) {
+                  @for (item of itemList.items(); track item.id) {
                     <tr>
                       <td>{{ item.itemNumber || '-' }}</td>
                       <td>{{ item.description }}</td>
@@ -125,6 +138,11 @@ import { BoqUploadComponent } from '../boq/boq-upload.component';
                   }
                 </tbody>
               </table>
+              @if (itemList.hasMore()) {
+                <div class="load-more">
+                  <button class="btn btn-secondary" [disabled]="itemList.loading()" (click)="itemList.loadMore()">Load more items</button>
+                </div>
+              }
             }
           </div>
         }
@@ -134,7 +152,16 @@ import { BoqUploadComponent } from '../boq/boq-upload.component';
     <div class="section">
       <div class="section-header">
         <h2>RFQ Requests</h2>
-        <button class="btn btn-primary" (click)="showRfqForm.set(true)">Create RFQ</button>
+        <div class="section-actions">
+          <select class="form-input" [ngModel]="rfqStatusFilter()" (ngModelChange)="filterRfqsByStatus($event)">
+            <option [ngValue]="null">All statuses</option>
+            <option value="DRAFT">Draft</option>
+            <option value="SENT">Sent</option>
+            <option value="RESPONDED">Responded</option>
+            <option value="DECLINED">Declined</option>
+          </select>
+          <button class="btn btn-primary" (click)="showRfqForm.set(true)">Create RFQ</button>
+        </div>
       </div>
 
       @if (showRfqForm()) {
@@ -144,10 +171,13 @@ import { BoqUploadComponent } from '../boq/boq-upload.component';
             <label class="form-label">Select Supplier *</label>
             <select class="form-input" [(ngModel)]="rfqForm.supplierId">
               <option [ngValue]="null">-- Select Supplier --</option>
-              @for (supplier of suppliers(); track supplier.id) {
+              @for (supplier of suppliers.items(); track supplier.id) {
                 <option [ngValue]="supplier.id">{{ supplier.companyName }}</option>
               }
             </select>
+            @if (suppliers.hasMore()) {
+              <button type="button" class="btn-icon" [disabled]="suppliers.loading()" (click)="suppliers.loadMore()">Load more suppliers</button>
+            }
           </div>
           <div class="form-group">
             <label class="form-label">Deadline</label>
@@ -160,9 +190,9 @@ import { BoqUploadComponent } from '../boq/boq-upload.component';
         </div>
       }
 
-      @if (rfqs().length === 0) {
+      @if (rfqs.items().length === 0) {
         <div class="card">
-          <p class="empty-state">No RFQ requests yet.</p>
+          <p class="empty-state">{{ rfqStatusFilter() ? 'No RFQ requests with this status.' : 'No RFQ requests yet.' }}</p>
         </div>
       } @else {
         <div class="card">
@@ -177,7 +207,7 @@ import { BoqUploadComponent } from '../boq/boq-upload.component';
               </tr>
             </thead>
             <tbody>
-              @for (rfq of rfqs(); track rfq.id) {
+              @for (rfq of rfqs.items(); track rfq.id) {
                 <tr>
                   <td>{{ rfq.supplierCompanyName }}</td>
                   <td>
@@ -197,6 +227,11 @@ import { BoqUploadComponent } from '../boq/boq-upload.component';
               }
             </tbody>
           </table>
+          @if (rfqs.hasMore()) {
+            <div class="load-more">
+              <button class="btn btn-secondary" [disabled]="rfqs.loading()" (click)="rfqs.loadMore()">Load more</button>
+            </div>
+          }
         </div>
       }
     </div>
@@ -243,6 +278,12 @@ import { BoqUploadComponent } from '../boq/boq-upload.component';
       }
     }
 
+    .section-actions {
+      display: flex;
+      gap: 0.5rem;
+      align-items: center;
+    }
+
     .boq-card {
       margin-bottom: 1rem;
     }
@@ -263,6 +304,12 @@ import { BoqUploadComponent } from '../boq/boq-upload.component';
       }
     }
 
+    .boq-totals {
+      font-size: 0.875rem;
+      color: var(--text-secondary);
+      margin-bottom: 0.75rem;
+    }
+
     .item-form {
       margin: 1rem 0;
       padding: 1rem;
@@ -340,9 +387,13 @@ export class ProjectDetailComponent implements OnInit {
 
   projectId!: number;
   project = signal<Project | null>(null);
-  boqs = signal<BillOfQuantities[]>([]);
-  rfqs = signal<RfqRequest[]>([]);
-  suppliers = signal<Supplier[]>([]);
+  boqs = signal<BoqSummary[]>([]);
+  /** Items of the BoQs whose items are shown, one page at a time. */
+  boqItems = signal<Record<number, PagedList<BoqItem>>>({});
+  rfqStatusFilter = signal<RfqStatus | null>(null);
+  rfqs = new PagedList<RfqRequest>(cursor => this.api.getPage<RfqRequest>('/rfq',
+    { projectId: this.projectId, status: this.rfqStatusFilter() }, cursor));
+  suppliers = new PagedList<Supplier>(cursor => this.api.getPage<Supplier>('/suppliers', {}, cursor));
 
   showItemForm = signal<number | null>(null);
   showRfqForm = signal(false);
@@ -377,21 +428,54 @@ export class ProjectDetailComponent implements OnInit {
   }
 
   loadBoqs(): void {
-    this.api.get<BillOfQuantities[]>(`/projects/${this.projectId}/boq`).subscribe({
-      next: (boqs) => this.boqs.set(boqs)
+    this.api.get<BoqSummary[]>(`/projects/${this.projectId}/boq`).subscribe({
+      next: (boqs) => {
+        this.boqs.set(boqs);
+        for (const items of Object.values(this.boqItems())) {
+          items.reload();
+        }
+      }
     });
   }
 
+  loadItems(boqId: number): void {
+    const shown = this.boqItems()[boqId];
+    if (shown) {
+      shown.reload();
+      return;
+    }
+    const items = new PagedList<BoqItem>(cursor => this.api.getPage<BoqItem>(`/boq/${boqId}/items`, {}, cursor));
+    items.reload();
+    this.boqItems.update(loaded => ({ ...loaded, [boqId]: items }));
+  }
+
+  toggleItems(boqId: number): void {
+    if (this.boqItems()[boqId]) {
+      this.boqItems.update(loaded => {
+        const rest = { ...loaded };
+        delete rest[boqId];
+        return rest;
+      });
+    } else {
+      this.loadItems(boqId);
+    }
+  }
+
+  unitTotals(boq: BoqSummary): { unit: string; quantity: number }[] {
+    return Object.entries(boq.totalQuantityByUnit).map(([unit, quantity]) => ({ unit, quantity }));
+  }
+
   loadRfqs(): void {
-    this.api.get<RfqRequest[]>('/rfq').subscribe({
-      next: (rfqs) => this.rfqs.set(rfqs.filter(r => r.projectId === this.projectId))
-    });
+    this.rfqs.reload();
+  }
+
+  filterRfqsByStatus(status: RfqStatus | null): void {
+    this.rfqStatusFilter.set(status);
+    this.loadRfqs();
   }
 
   loadSuppliers(): void {
-    this.api.get<Supplier[]>('/suppliers').subscribe({
-      next: (suppliers) => this.suppliers.set(suppliers)
-    });
+    this.suppliers.reload();
   }
 
   createBoq(): void {
@@ -412,6 +496,7 @@ export class ProjectDetailComponent implements OnInit {
     this.api.post<BoqItem>(`/boq/${boqId}/items`, this.itemForm).subscribe({
       next: () => {
         this.loadBoqs();
+        this.loadItems(boqId);
         this.showItemForm.set(null);
         this.itemForm = { itemNumber: '', description: '', materialType: '', quantity: 0, unit: '', specification: '' };
       }
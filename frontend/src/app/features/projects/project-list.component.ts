@@ -2,6 +2,7 @@ import { Component, inject, signal, OnInit } from '@angular/core';
 import { RouterLink } from '@angular/router';
 import { FormsModule } from '@angular/forms';
 import { ApiService } from '../../core/services/api.service';
+import { PagedList } from '../../core/services/paged-list';
 import { Project, ProjectStatus } from '../../shared/models';
 
 @Component({
@@ -45,8 +46,21 @@ import { Project, ProjectStatus } from '../../shared/models';
     }
 
     <div class="card">
-      @if (projects().length === 0) {
-        <p class="empty-state">No projects yet. Create your first project to get started.</p>
+      <div class="list-filters">
+        <select class="form-input" [ngModel]="statusFilter()" (ngModelChange)="filterByStatus($event)" name="statusFilter">
+          <option [ngValue]="null">All statuses</option>
+          <option value="DRAFT">Draft</option>
+          <option value="ACTIVE">Active</option>
+          <option value="COMPLETED">Completed</option>
+        </select>
+      </div>
+
+      @if (projects.items().length === 0) {
+        @if (statusFilter()) {
+          <p class="empty-state">No projects with this status.</p>
+        } @else {
+          <p class="empty-state">No projects yet. Create your first project to get started.</p>
+        }
       } @else {
         <table class="table">
           <thead>
@@ -59,7 +73,7 @@ import { Project, ProjectStatus } from '../../shared/models';
             </tr>
           </thead>
           <tbody>
-            @for (project of projects(); track project.id) {
+            @for (project of projects.items(); track project.id) {
               <tr>
                 <td>
                   <a [routerLink]="['/projects', project.id]" class="project-link">{{ project.name }}</a>
@@ -79,6 +93,11 @@ import { Project, ProjectStatus } from '../../shared/models';
             }
           </tbody>
         </table>
+        @if (projects.hasMore()) {
+          <div class="load-more">
+            <button class="btn btn-secondary" [disabled]="projects.loading()" (click)="projects.loadMore()">Load more</button>
+          </div>
+        }
       }
     </div>
   `,
@@ -99,6 +118,11 @@ import { Project, ProjectStatus } from '../../shared/models';
       margin-top: 1rem;
     }
 
+    .list-filters {
+      max-width: 200px;
+      margin-bottom: 1rem;
+    }
+
     .empty-state {
       text-align: center;
       color: var(--text-secondary);
@@ -136,7 +160,9 @@ import { Project, ProjectStatus } from '../../shared/models';
 export class ProjectListComponent implements OnInit {
   private api = inject(ApiService);
 
-  projects = signal<Project[]>([]);
+  statusFilter = signal<ProjectStatus | null>(null);
+  projects = new PagedList<Project>(cursor =>
+    this.api.getPage<Project>('/projects', { status: this.statusFilter() }, cursor));
   showForm = signal(false);
   editingProject = signal<Project | null>(null);
 
@@ -151,9 +177,12 @@ export class ProjectListComponent implements OnInit {
   }
 
   loadProjects(): void {
-    this.api.get<Project[]>('/projects').subscribe({
-      next: (projects) => this.projects.set(projects)
-    });
+    this.projects.reload();
+  }
+
+  filterByStatus(status: ProjectStatus | null): void {
+    this.statusFilter.set(status);
+    this.loadProjects();
   }
 
   saveProject(): void {
@@ -2,7 +2,9 @@ import { Component, inject, signal, OnInit } from '@angular/core';
 import { FormsModule } from '@angular/forms';
 import { DecimalPipe } from '@angular/common';
 import { ApiService } from '../../core/services/api.service';
-import { Quote, RfqRequest, Supplier, BoqItem, BillOfQuantities } from '../../shared/models';
+import { PagedList } from '../../core/services/paged-list';
+import { map, of } from 'rxjs';
+import { Quote, RfqRequest, Supplier, BoqItem, BoqSummary } from '../../shared/models';
 
 @Component({
   selector: 'app-quote-list',
@@ -23,19 +25,25 @@ import { Quote, RfqRequest, Supplier, BoqItem, BillOfQuantities } from '../../sh
               <label class="form-label">RFQ Request *</label>
               <select class="form-input" [(ngModel)]="form.rfqRequestId" name="rfqRequestId" (change)="onRfqChange()">
                 <option [ngValue]="null">-- Select RFQ --</option>
-                @for (rfq of rfqs(); track rfq.id) {
+                @for (rfq of rfqs.items(); track rfq.id) {
                   <option [ngValue]="rfq.id">{{ rfq.projectName }} - {{ rfq.supplierCompanyName }}</option>
                 }
               </select>
+              @if (rfqs.hasMore()) {
+                <button type="button" class="btn-icon" [disabled]="rfqs.loading()" (click)="rfqs.loadMore()">Load more RFQs</button>
+              }
             </div>
             <div class="form-group">
               <label class="form-label">Supplier *</label>
               <select class="form-input" [(ngModel)]="form.supplierId" name="supplierId">
                 <option [ngValue]="null">-- Select Supplier --</option>
-                @for (supplier of suppliers(); track supplier.id) {
+                @for (supplier of suppliers.items(); track supplier.id) {
                   <option [ngValue]="supplier.id">{{ supplier.companyName }}</option>
                 }
               </select>
+              @if (suppliers.hasMore()) {
+                <button type="button" class="btn-icon" [disabled]="suppliers.loading()" (click)="suppliers.loadMore()">Load more suppliers</button>
+              }
             </div>
           </div>
 
@@ -44,10 +52,13 @@ import { Quote, RfqRequest, Supplier, BoqItem, BillOfQuantities } from '../../sh
               <label class="form-label">BOQ Item *</label>
               <select class="form-input" [(ngModel)]="form.boqItemId" name="boqItemId">
                 <option [ngValue]="null">-- Select BOQ Item --</option>
-                @for (item of boqItems(); track item.id) {
+                @for (item of boqItems().items(); track item.id) {
                   <option [ngValue]="item.id">{{ item.itemNumber || '#' }} - {{ item.description }}</option>
                 }
               </select>
+              @if (boqItems().hasMore()) {
+                <button type="button" class="btn-icon" [disabled]="boqItems().loading()" (click)="boqItems().loadMore()">Load more items</button>
+              }
             </div>
           </div>
 
@@ -92,8 +103,17 @@ import { Quote, RfqRequest, Supplier, BoqItem, BillOfQuantities } from '../../sh
     }
 
     <div class="card">
-      @if (quotes().length === 0) {
-        <p class="empty-state">No quotes yet.</p>
+      <div class="list-filters">
+        <select class="form-input" [ngModel]="supplierFilter()" (ngModelChange)="filterBySupplier($event)">
+          <option [ngValue]="null">All suppliers</option>
+          @for (supplier of suppliers.items(); track supplier.id) {
+            <option [ngValue]="supplier.id">{{ supplier.companyName }}</option>
+          }
+        </select>
+      </div>
+
+      @if (quotes.items().length === 0) {
+        <p class="empty-state">{{ supplierFilter() ? 'No quotes from this supplier.' : 'No quotes yet.' }}</p>
       } @else {
         <table class="table">
           <thead>
@@ -108,7 +128,7 @@ import { Quote, RfqRequest, Supplier, BoqItem, BillOfQuantities } from '../../sh
             </tr>
           </thead>
           <tbody>
-            @for (quote of quotes(); track quote.id) {
+            @for (quote of quotes.items(); track quote.id) {
               <tr>
                 <td>{{ quote.supplierCompanyName }}</td>
                 <td>{{ quote.boqItemDescription }}</td>
@@ -123,6 +143,11 @@ import { Quote, RfqRequest, Supplier, BoqItem, BillOfQuantities } from '../../sh
             }
           </tbody>
         </table>
+        @if (quotes.hasMore()) {
+          <div class="load-more">
+            <button class="btn btn-secondary" [disabled]="quotes.loading()" (click)="quotes.loadMore()">Load more</button>
+          </div>
+        }
       }
     </div>
   `,
@@ -149,6 +174,11 @@ import { Quote, RfqRequest, Supplier, BoqItem, BillOfQuantities } from '../../sh
       margin-top: 1rem;
     }
 
+    .list-filters {
+      max-width: 250px;
+      margin-bottom: 1rem;
+    }
+
     .empty-state {
       text-align: center;
       color: var(--text-secondary);
@@ -176,10 +206,12 @@ import { Quote, RfqRequest, Supplier, BoqItem, BillOfQuantities } from '../../sh
 export class QuoteListComponent implements OnInit {
   private api = inject(ApiService);
 
-  quotes = signal<Quote[]>([]);
-  rfqs = signal<RfqRequest[]>([]);
-  suppliers = signal<Supplier[]>([]);
-  boqItems = signal<BoqItem[]>([]);
+  supplierFilter = signal<number | null>(null);
+  quotes = new PagedList<Quote>(cursor =>
+    this.api.getPage<Quote>('/quotes', { supplierId: this.supplierFilter() }, cursor));
+  rfqs = new PagedList<RfqRequest>(cursor => this.api.getPage<RfqRequest>('/rfq', {}, cursor));
+  suppliers = new PagedList<Supplier>(cursor => this.api.getPage<Supplier>('/suppliers', {}, cursor));
+  boqItems = signal(this.itemsOf([]));
   showForm = signal(false);
 
   form: {
@@ -211,31 +243,31 @@ export class QuoteListComponent implements OnInit {
   }
 
   loadQuotes(): void {
-    this.api.get<Quote[]>('/quotes').subscribe({
-      next: (quotes) => this.quotes.set(quotes)
-    });
+    this.quotes.reload();
+  }
+
+  filterBySupplier(supplierId: number | null): void {
+    this.supplierFilter.set(supplierId);
+    this.loadQuotes();
   }
 
   loadRfqs(): void {
-    this.api.get<RfqRequest[]>('/rfq').subscribe({
-      next: (rfqs) => this.rfqs.set(rfqs)
-    });
+    this.rfqs.reload();
   }
 
   loadSuppliers(): void {
-    this.api.get<Supplier[]>('/suppliers').subscribe({
-      next: (suppliers) => this.suppliers.set(suppliers)
-    });
+    this.suppliers.reload();
   }
 
   onRfqChange(): void {
     if (this.form.rfqRequestId) {
-      const rfq = this.rfqs().find(r => r.id === this.form.rfqRequestId);
+      const rfq = this.rfqs.items().find(r => r.id === this.form.rfqRequestId);
       if (rfq) {
         this.form.supplierId = rfq.supplierId;
-        this.api.get<BillOfQuantities[]>(`/projects/${rfq.projectId}/boq`).subscribe({
+        this.api.get<BoqSummary[]>(`/projects/${rfq.projectId}/boq`).subscribe({
           next: (boqs) => {
-            const items = boqs.flatMap(b => b.items || []);
+            const items = this.itemsOf(boqs.map(b => b.id));
+            items.reload();
             this.boqItems.set(items);
           }
         });
@@ -282,7 +314,29 @@ export class QuoteListComponent implements OnInit {
       notes: '',
       validUntil: ''
     };
-    this.boqItems.set([]);
+    this.boqItems.set(this.itemsOf([]));
+  }
+
+  /**
+   * Items of the given BoQs as one paged list, going through the BoQs in turn. The cursor is the index of
+   * the BoQ followed by the cursor within its items.
+   */
+  private itemsOf(boqIds: number[]): PagedList<BoqItem> {
+    return new PagedList<BoqItem>(cursor => {
+      const separator = cursor ? cursor.indexOf(':') : -1;
+      const index = cursor ? Number(cursor.slice(0, separator)) : 0;
+      if (index >= boqIds.length) {
+        return of({ items: [] as BoqItem[], nextCursor: null });
+      }
+      const itemCursor = cursor ? cursor.slice(separator + 1) : null;
+      return this.api.getPage<BoqItem>(`/boq/${boqIds[index]}/items`, {}, itemCursor || null).pipe(
+        map(page => ({
+          items: page.items,
+          nextCursor: page.nextCursor ? `${index}:${page.nextCursor}`
+            : index + 1 < boqIds.length ? `${index + 1}:` : null
+        }))
+      );
+    });
   }
 
   formatDate(dateString: string): string {
@@ -1,6 +1,7 @@
 import { Component, inject, signal, OnInit } from '@angular/core';
 import { FormsModule } from '@angular/forms';
 import { ApiService } from '../../core/services/api.service';
+import { PagedList } from '../../core/services/paged-list';
 import { Supplier } from '../../shared/models';
 
 @Component({
@@ -54,7 +55,7 @@ import { Supplier } from '../../shared/models';
     }
 
     <div class="card">
-      @if (suppliers().length === 0) {
+      @if (suppliers.items().length === 0) {
         <p class="empty-state">No suppliers yet. Add your first supplier to get started.</p>
       } @else {
         <table class="table">
@@ -69,7 +70,7 @@ import { Supplier } from '../../shared/models';
             </tr>
           </thead>
           <tbody>
-            @for (supplier of suppliers(); track supplier.id) {
+            @for (supplier of suppliers.items(); track supplier.id) {
               <tr>
                 <td>{{ supplier.companyName }}</td>
                 <td>{{ supplier.contactName || '-' }}</td>
@@ -92,6 +93,11 @@ import { Supplier } from '../../shared/models';
             }
           </tbody>
         </table>
+        @if (suppliers.hasMore()) {
+          <div class="load-more">
+            <button class="btn btn-secondary" [disabled]="suppliers.loading()" (click)="suppliers.loadMore()">Load more</button>
+          </div>
+        }
       }
     </div>
   `,
@@ -149,7 +155,7 @@ import { Supplier } from '../../shared/models';
 export class SupplierListComponent implements OnInit {
   private api = inject(ApiService);
 
-  suppliers = signal<Supplier[]>([]);
+  suppliers = new PagedList<Supplier>(cursor => this.api.getPage<Supplier>('/suppliers', {}, cursor));
   showForm = signal(false);
   editingSupplier = signal<Supplier | null>(null);
 
@@ -167,9 +173,7 @@ export class SupplierListComponent implements OnInit {
   }
 
   loadSuppliers(): void {
-    this.api.get<Supplier[]>('/suppliers').subscribe({
-      next: (suppliers) => this.suppliers.set(suppliers)
-    });
+    this.suppliers.reload();
   }
 
   saveSupplier(): void {
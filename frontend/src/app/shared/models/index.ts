@@ -54,6 +54,16 @@ export interface BillOfQuantities {
   items: BoqItem[];
 }
 
+export interface BoqSummary {
+  id: number;
+  projectId: number;
+  originalFilename: string;
+  uploadedAt: string;
+  revision: number;
+  itemCount: number;
+  totalQuantityByUnit: Record<string, number>;
+}
+
 export interface BoqItem {
   id: number;
   boqId: number;
@@ -121,7 +131,8 @@ export interface ParsedBoqItem {
 export interface BoqUploadResponse {
   boqId: number;
   filename: string;
-  totalRowsParsed: number;
+  totalRowsParsed: number | null; // null when only the preview sample was read
+  previewOnly: boolean;
   requiresConfirmation: boolean;
   overallConfidence: number;
   columnMappings: ColumnMapping[];